@@ -0,0 +1,21 @@
+#!/usr/bin/env bash
+# Builds the shared module and both test modules, runs the benchmarks and compares them with the baseline.
+# Arguments are passed to JMH, e.g. ./run.sh AuthenticationUtil to run one class.
+# Use UPDATE_BASELINE=true to store the results as the new baseline.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+mvn -B -q -f ../test-commons/pom.xml install
+mvn -B -q -f ../rest-assured/pom.xml install -DskipTests
+mvn -B -q -f ../selenium-cucumber/pom.xml install -DskipTests
+mvn -B -q package
+
+mkdir -p target
+java -jar target/benchmarks.jar -rf json -rff target/results.json "$@"
+
+if [ "${UPDATE_BASELINE:-false}" = "true" ]; then
+    cp target/results.json baseline.json
+    echo "Baseline updated"
+else
+    java -cp target/benchmarks.jar com.orangehrm.benchmarks.BaselineReport baseline.json target/results.json
+fi
@@ -0,0 +1,66 @@
+package com.orangehrm.api.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.restassured.path.json.mapper.factory.DefaultJackson2ObjectMapperFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the User request body. REST Assured's default factory
+ * builds a new ObjectMapper, with module discovery, for every request; the other
+ * benchmarks show what a shared mapper or a prepared writer would cost instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserSerializationBenchmark {
+    private final DefaultJackson2ObjectMapperFactory restAssuredFactory = new DefaultJackson2ObjectMapperFactory();
+    private final ObjectMapper sharedMapper = new ObjectMapper();
+    private ObjectWriter userWriter;
+    private User user;
+    private byte[] userJson;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        user = new User("testuser_060799ba", "Test123!8f2c91aa", true, 1, 116);
+        userWriter = sharedMapper.writerFor(User.class);
+        userJson = sharedMapper.writeValueAsString(user).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] serializeRestAssuredDefault() throws JsonProcessingException {
+        return restAssuredFactory.create(User.class, "UTF-8").writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] serializeSharedMapper() throws JsonProcessingException {
+        return sharedMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] serializePreparedWriter() throws JsonProcessingException {
+        return userWriter.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public User deserializeSharedMapper() throws IOException {
+        return sharedMapper.readValue(userJson, User.class);
+    }
+}
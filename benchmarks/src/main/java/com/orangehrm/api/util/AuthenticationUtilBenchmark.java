@@ -0,0 +1,57 @@
+package com.orangehrm.api.util;
+
+import com.orangehrm.benchmarks.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSRF token extraction on full pages. The login page matches the first pattern,
+ * the dashboard only the last one, and a page without a token scans with all three.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticationUtilBenchmark {
+    private static final int PAGE_SIZE = 32 * 1024;
+
+    private String loginPage;
+    private String dashboardPage;
+    private String pageWithoutToken;
+
+    @Setup
+    public void setup() {
+        loginPage = Fixtures.htmlPage("<auth-login :error=\"null\" :token=\"&quot;aee7bbe10c45c0284f083ce3f12bbb4b&quot;\""
+                + " :is-demo-mode=\"true\"></auth-login>", PAGE_SIZE);
+        dashboardPage = Fixtures.htmlPage("<script>window.appGlobal = {\"baseUrl\":\"/web/index.php\","
+                + "\"csrf-token\": \"aa616abe17610c9ae74367bd738597dc\"};</script>", PAGE_SIZE);
+        pageWithoutToken = Fixtures.htmlPage("<oxd-layout></oxd-layout>", PAGE_SIZE);
+    }
+
+    @Benchmark
+    public String extractFromLoginPage() {
+        return AuthenticationUtil.extractCsrfToken(loginPage);
+    }
+
+    @Benchmark
+    public String extractFromDashboard() {
+        return AuthenticationUtil.extractCsrfToken(dashboardPage);
+    }
+
+    @Benchmark
+    public String extractMissing() {
+        return AuthenticationUtil.extractCsrfToken(pageWithoutToken);
+    }
+}
@@ -0,0 +1,47 @@
+package com.orangehrm.api.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Username and password generation of the REST module from the per-thread blocks
+ * and random streams of UniqueIds, alone and with four threads, where only the
+ * shared block counter is contended
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestDataGeneratorBenchmark {
+
+    @Benchmark
+    public String generateUsername() {
+        return TestDataGenerator.generateUsername();
+    }
+
+    @Benchmark
+    public String generatePassword() {
+        return TestDataGenerator.generatePassword();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateUsernameContended() {
+        return TestDataGenerator.generateUsername();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generatePasswordContended() {
+        return TestDataGenerator.generatePassword();
+    }
+}
@@ -0,0 +1,82 @@
+package com.orangehrm.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file with the committed baseline.
+ * A change only counts when the score moved further than both error margins,
+ * anything closer is reported as noise.
+ *
+ * Usage: BaselineReport baseline.json results.json
+ */
+public class BaselineReport {
+
+    private static class Score {
+        private final double score;
+        private final double error;
+        private final String unit;
+
+        private Score(JsonNode metric) {
+            this.score = metric.path("score").asDouble();
+            // JMH writes "NaN" when there were too few iterations for an error estimate
+            this.error = metric.path("scoreError").isNumber() ? metric.path("scoreError").asDouble() : 0;
+            this.unit = metric.path("scoreUnit").asText();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BaselineReport <baseline.json> <results.json>");
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> results = read(new File(args[1]));
+
+        System.out.printf("%-75s %18s %18s %9s  %s%n", "BENCHMARK", "BASELINE", "CURRENT", "CHANGE", "");
+        results.forEach((name, current) -> {
+            Score base = baseline.get(name);
+            if (base == null) {
+                System.out.printf("%-75s %18s %18s %9s  %s%n", name, "-", format(current), "-", "new");
+                return;
+            }
+            double change = (current.score - base.score) / base.score * 100;
+            String verdict;
+            if (Math.abs(current.score - base.score) <= current.error + base.error) {
+                verdict = "noise";
+            } else {
+                // All benchmarks report average time, so lower is better
+                verdict = current.score < base.score ? "faster" : "SLOWER";
+            }
+            System.out.printf("%-75s %18s %18s %+8.1f%%  %s%n", name, format(base), format(current), change, verdict);
+        });
+        baseline.keySet().stream()
+                .filter(name -> !results.containsKey(name))
+                .forEach(name -> System.out.printf("%-75s %18s %18s %9s  %s%n", name, format(baseline.get(name)), "-", "-", "not run"));
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder name = new StringBuilder(run.path("benchmark").asText()
+                    .replaceFirst("^com\\.orangehrm\\.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                name.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            scores.put(name.toString(), new Score(run.path("primaryMetric")));
+        }
+        return scores;
+    }
+
+    private static String format(Score score) {
+        return String.format("%.3f %s", score.score, score.unit);
+    }
+}
@@ -0,0 +1,65 @@
+package com.orangehrm.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Deterministic inputs shaped like the responses of the OrangeHRM demo site
+ */
+public final class Fixtures {
+    private static final String[] FIRST_NAMES = {"Linda", "Peter", "Odis", "Rebecca", "Charlie", "Russel", "Garry", "Joe"};
+    private static final String[] LAST_NAMES = {"Anderson", "Mac Anderson", "Adalwin", "Harmony", "Carter", "Hamilton", "White", "Root"};
+
+    private Fixtures() {
+    }
+
+    /**
+     * Builds an HTML page of roughly the given size with the markup placed after the
+     * head and the bulk of the body, where the Vue app of the real pages renders it
+     * @param markup The markup to embed, e.g. the login form component with its token
+     * @param size The approximate page size in characters
+     */
+    public static String htmlPage(String markup, int size) {
+        StringBuilder html = new StringBuilder(size + markup.length() + 256);
+        html.append("<!DOCTYPE html><html lang=\"en\"><head><meta charset=\"utf-8\">")
+                .append("<title>OrangeHRM</title>");
+        int asset = 0;
+        while (html.length() < size / 4) {
+            html.append("<link href=\"/web/dist/css/chunk-").append(asset).append(".css?v=1721")
+                    .append("\" rel=\"stylesheet\"><script src=\"/web/dist/js/chunk-").append(asset++)
+                    .append(".js?v=1721\" defer></script>");
+        }
+        html.append("</head><body><noscript><strong>We're sorry but OrangeHRM doesn't work properly without JavaScript enabled.</strong></noscript>");
+        int row = 0;
+        while (html.length() < size) {
+            html.append("<div class=\"oxd-layout-context\" data-v-").append(Integer.toHexString(row++))
+                    .append("=\"\"><span class=\"oxd-text oxd-text--span\">Paragraph ").append(row)
+                    .append(" of static content that the token patterns have to scan past.</span></div>");
+        }
+        html.append("<div id=\"app\">").append(markup).append("</div></body></html>");
+        return html.toString();
+    }
+
+    /**
+     * Builds a PIM employee list response with the given number of records
+     */
+    public static byte[] employeesResponse(int records) {
+        StringBuilder json = new StringBuilder(records * 320 + 64).append("{\"data\":[");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"empNumber\":").append(i + 1)
+                    .append(",\"lastName\":\"").append(LAST_NAMES[i % LAST_NAMES.length])
+                    .append("\",\"firstName\":\"").append(FIRST_NAMES[i % FIRST_NAMES.length])
+                    .append("\",\"middleName\":\"").append(i % 3 == 0 ? "Jane" : "")
+                    .append("\",\"employeeId\":\"").append(String.format("%04d", i + 1))
+                    .append("\",\"terminationId\":null")
+                    .append(",\"jobTitle\":{\"id\":2,\"title\":\"QA Engineer\",\"isDeleted\":false}")
+                    .append(",\"subunit\":{\"id\":3,\"name\":\"Engineering\"}")
+                    .append(",\"empStatus\":{\"id\":1,\"name\":\"Full-Time Permanent\"}")
+                    .append(",\"supervisors\":[]}");
+        }
+        json.append("],\"meta\":{\"total\":").append(records).append("},\"rels\":[]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,36 @@
+package pages;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+
+/**
+ * Parsing the records count label of the Admin page, as getRecordsCountAsInt does
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdminPageBenchmark {
+
+    @Param({"(7) Records Found", "(128) Records Found", "No Records Found"})
+    public String countText;
+
+    @Benchmark
+    public int parseRecordsCount() {
+        Matcher matcher = AdminPage.matchRecordsCount(countText);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+}
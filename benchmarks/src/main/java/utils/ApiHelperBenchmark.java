@@ -0,0 +1,47 @@
+package utils;
+
+import com.orangehrm.benchmarks.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming the employee names out of a PIM employee list response.
+ * 50 records is the page size of the demo site, 5000 a large directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiHelperBenchmark {
+
+    @Param({"50", "5000"})
+    public int records;
+
+    private byte[] body;
+
+    @Setup
+    public void setup() {
+        body = Fixtures.employeesResponse(records);
+    }
+
+    @Benchmark
+    public int streamEmployeeNames(Blackhole blackhole) throws IOException {
+        return ApiHelper.streamEmployeeNames(new ByteArrayInputStream(body), blackhole::consume);
+    }
+}
@@ -0,0 +1,38 @@
+package utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test data of the Selenium module, names built from UniqueIds identifiers and
+ * passwords from the current thread's random stream
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestDataGeneratorBenchmark {
+
+    @Benchmark
+    public String generateUniqueUsername() {
+        return TestDataGenerator.generateUniqueUsername("testuser");
+    }
+
+    @Benchmark
+    public String generateEmployeeName() {
+        return TestDataGenerator.generateEmployeeName("John");
+    }
+
+    @Benchmark
+    public String generateStrongPassword() {
+        return TestDataGenerator.generateStrongPassword();
+    }
+}
@@ -0,0 +1,188 @@
+package com.orangehrm.api.client;
+
+import com.orangehrm.api.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Creates and deletes large numbers of users for volume tests.
+ * Creation runs through a pool with a bounded number of in-flight requests and
+ * deletion is batched into DELETE calls of a configurable chunk size.
+ */
+public class BulkUserProvisioner implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(BulkUserProvisioner.class);
+    
+    private final UserApiClient client;
+    private final int deleteChunkSize;
+    private final ExecutorService executor;
+    
+    /**
+     * Outcome of a bulk operation
+     */
+    public static class Result {
+        private final List<Integer> ids;
+        private final List<Throwable> failures;
+        
+        public Result(List<Integer> ids, List<Throwable> failures) {
+            this.ids = Collections.unmodifiableList(ids);
+            this.failures = Collections.unmodifiableList(failures);
+        }
+        
+        /**
+         * @return The IDs of the users that were created or deleted
+         */
+        public List<Integer> getIds() {
+            return ids;
+        }
+        
+        /**
+         * @return The errors of the requests that failed
+         */
+        public List<Throwable> getFailures() {
+            return failures;
+        }
+        
+        public boolean isSuccessful() {
+            return failures.isEmpty();
+        }
+    }
+    
+    /**
+     * Creates a provisioner
+     *
+     * @param client The client used for the requests
+     * @param concurrency The maximum number of requests in flight at once
+     * @param deleteChunkSize The maximum number of IDs sent in one DELETE request
+     */
+    public BulkUserProvisioner(UserApiClient client, int concurrency, int deleteChunkSize) {
+        if (concurrency < 1 || deleteChunkSize < 1) {
+            throw new IllegalArgumentException("Concurrency and delete chunk size must be positive");
+        }
+        this.client = client;
+        this.deleteChunkSize = deleteChunkSize;
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "user-provisioner-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Creates a provisioner configured through the provision.concurrency and
+     * provision.deleteChunkSize system properties
+     *
+     * @param client The client used for the requests
+     * @return The provisioner
+     */
+    public static BulkUserProvisioner fromSystemProperties(UserApiClient client) {
+        return new BulkUserProvisioner(client,
+                Integer.getInteger("provision.concurrency", 8),
+                Integer.getInteger("provision.deleteChunkSize", 100));
+    }
+    
+    /**
+     * Creates the given number of users
+     *
+     * @param count The number of users to create
+     * @param userFactory Builds the user for each index
+     * @return The IDs of the created users and any failures
+     */
+    public Result createUsers(int count, IntFunction<User> userFactory) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(userFactory.apply(i));
+        }
+        return createUsers(users);
+    }
+    
+    /**
+     * Creates the given users
+     *
+     * @param users The users to create
+     * @return The IDs of the created users and any failures
+     */
+    public Result createUsers(List<User> users) {
+        long start = System.nanoTime();
+        CompletionService<Integer> completionService = new ExecutorCompletionService<>(executor);
+        for (User user : users) {
+            completionService.submit(() -> client.createUser(user));
+        }
+        
+        List<Integer> ids = new ArrayList<>(users.size());
+        List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            try {
+                ids.add(take(completionService));
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        
+        logger.info("Created {} of {} users in {} ms", ids.size(), users.size(), elapsedMillis(start));
+        return new Result(ids, failures);
+    }
+    
+    /**
+     * Deletes the given users in batched DELETE requests
+     *
+     * @param ids The IDs of the users to delete
+     * @return The IDs reported as deleted and any failures
+     */
+    public Result deleteUsers(List<Integer> ids) {
+        long start = System.nanoTime();
+        CompletionService<List<Integer>> completionService = new ExecutorCompletionService<>(executor);
+        int chunks = 0;
+        for (int from = 0; from < ids.size(); from += deleteChunkSize) {
+            int[] chunk = ids.subList(from, Math.min(from + deleteChunkSize, ids.size()))
+                    .stream().mapToInt(Integer::intValue).toArray();
+            completionService.submit(() -> client.deleteUsers(chunk));
+            chunks++;
+        }
+        
+        List<Integer> deletedIds = new ArrayList<>(ids.size());
+        List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < chunks; i++) {
+            try {
+                deletedIds.addAll(take(completionService));
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        
+        logger.info("Deleted {} of {} users in {} requests in {} ms",
+                deletedIds.size(), ids.size(), chunks, elapsedMillis(start));
+        return new Result(deletedIds, failures);
+    }
+    
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+    
+    private static <T> T take(CompletionService<T> completionService) throws ExecutionException {
+        try {
+            Future<T> future = completionService.take();
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for bulk requests", e);
+        }
+    }
+    
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
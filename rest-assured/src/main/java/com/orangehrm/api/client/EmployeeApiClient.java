@@ -0,0 +1,103 @@
+package com.orangehrm.api.client;
+
+import com.orangehrm.api.config.ApiConfig;
+import com.orangehrm.api.model.Employee;
+import com.orangehrm.api.util.AuthenticationUtil;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thin client for the PIM employees endpoint, used to provision employees for fixtures.
+ * Shares its request specification with {@link UserApiClient}.
+ */
+public class EmployeeApiClient {
+    private final RequestSpecification requestSpec;
+    
+    /**
+     * Creates a client for the given session
+     * 
+     * @param baseUrl The base URL of the OrangeHRM instance
+     * @param authResult The authenticated session to use
+     */
+    public EmployeeApiClient(String baseUrl, AuthenticationUtil.AuthResult authResult) {
+        this.requestSpec = UserApiClient.requestSpec(baseUrl, authResult);
+    }
+    
+    /**
+     * Creates a client for the configured base URL using the cached default session
+     * 
+     * @return The employee API client
+     */
+    public static EmployeeApiClient withDefaultCredentials() {
+        return new EmployeeApiClient(ApiConfig.BASE_URL, AuthenticationUtil.authenticateWithDefaultCredentials());
+    }
+    
+    /**
+     * Creates an employee
+     * 
+     * @param employee The employee to create
+     * @return The employee number of the created employee
+     */
+    public int createEmployee(Employee employee) {
+        Response response = RestAssured.given()
+                .spec(requestSpec)
+                .body(employee)
+                .post(ApiConfig.EMPLOYEES_ENDPOINT);
+        
+        if (response.getStatusCode() != 200) {
+            throw new RuntimeException("Failed to create employee " + employee + ": "
+                    + response.getStatusCode() + " " + response.getBody().asString());
+        }
+        
+        return response.jsonPath().getInt("data.empNumber");
+    }
+    
+    /**
+     * Searches employees by name or employee ID
+     * 
+     * @param nameOrId Part of the full name, or the employee ID
+     * @return The employee numbers of the matching employees
+     */
+    public List<Integer> findEmployees(String nameOrId) {
+        Response response = RestAssured.given()
+                .spec(requestSpec)
+                .queryParam("nameOrId", nameOrId)
+                .get(ApiConfig.EMPLOYEES_ENDPOINT);
+        
+        if (response.getStatusCode() != 200) {
+            throw new RuntimeException("Failed to search employees: " + response.getStatusCode() + " "
+                    + response.getBody().asString());
+        }
+        
+        return response.jsonPath().getList("data.empNumber", Integer.class);
+    }
+    
+    /**
+     * Deletes employees, and with them their user accounts, in a single request
+     * 
+     * @param empNumbers The employee numbers of the employees to delete
+     * @return The employee numbers reported as deleted by the server
+     */
+    public List<Integer> deleteEmployees(int[] empNumbers) {
+        Response response = RestAssured.given()
+                .spec(requestSpec)
+                .body(Map.of("ids", empNumbers))
+                .delete(ApiConfig.EMPLOYEES_ENDPOINT);
+        
+        if (response.getStatusCode() != 200) {
+            throw new RuntimeException("Failed to delete employees: " + response.getStatusCode() + " "
+                    + response.getBody().asString());
+        }
+        
+        List<Integer> deletedIds = new ArrayList<>();
+        for (String id : response.jsonPath().getList("data", String.class)) {
+            deletedIds.add(Integer.parseInt(id));
+        }
+        return deletedIds;
+    }
+}
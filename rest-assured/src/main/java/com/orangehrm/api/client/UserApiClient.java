@@ -0,0 +1,161 @@
+package com.orangehrm.api.client;
+
+import com.orangehrm.api.config.ApiConfig;
+import com.orangehrm.api.metrics.MetricsFilter;
+import com.orangehrm.api.model.DeleteUserRequest;
+import com.orangehrm.api.model.User;
+import com.orangehrm.api.util.AuthenticationUtil;
+import com.orangehrm.api.util.ExchangeCapture;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thin client for the admin users endpoint.
+ * Unlike the test specification it does not log every exchange, so it can be used
+ * from many threads for fixture setup and teardown.
+ */
+public class UserApiClient {
+    private final RequestSpecification requestSpec;
+    
+    /**
+     * Creates a client for the given session
+     * 
+     * @param baseUrl The base URL of the OrangeHRM instance
+     * @param authResult The authenticated session to use
+     */
+    public UserApiClient(String baseUrl, AuthenticationUtil.AuthResult authResult) {
+        this.requestSpec = requestSpec(baseUrl, authResult);
+    }
+    
+    /**
+     * Builds the request specification shared by the clients of this package
+     * 
+     * @param baseUrl The base URL of the OrangeHRM instance
+     * @param authResult The authenticated session to use
+     * @return The request specification
+     */
+    static RequestSpecification requestSpec(String baseUrl, AuthenticationUtil.AuthResult authResult) {
+        // Merged first: the metrics specification carries REST Assured's global base URI and port
+        RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder()
+                .addRequestSpecification(MetricsFilter.requestSpec())
+                .setBaseUri(baseUrl)
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON)
+                .addCookie("orangehrm", authResult.getSessionCookie())
+                .addHeader("User-Agent", ApiConfig.USER_AGENT)
+                .addHeader("Origin", baseUrl)
+                .addHeader("Referer", baseUrl + ApiConfig.DASHBOARD_ENDPOINT)
+                .addFilter(ExchangeCapture.getInstance())
+                .addFilter(UserRegistry.getInstance());
+        
+        if (authResult.getCsrfToken() != null && !authResult.getCsrfToken().isEmpty()) {
+            requestSpecBuilder.addHeader("X-CSRF-Token", authResult.getCsrfToken());
+        }
+        
+        return requestSpecBuilder.build();
+    }
+    
+    /**
+     * Creates a client for the configured base URL using the cached default session
+     * 
+     * @return The user API client
+     */
+    public static UserApiClient withDefaultCredentials() {
+        return new UserApiClient(ApiConfig.BASE_URL, AuthenticationUtil.authenticateWithDefaultCredentials());
+    }
+    
+    /**
+     * Creates a user
+     * 
+     * @param user The user to create
+     * @return The ID of the created user
+     */
+    public int createUser(User user) {
+        Response response = RestAssured.given()
+                .spec(requestSpec)
+                .body(user)
+                .post(ApiConfig.USERS_ENDPOINT);
+        
+        if (response.getStatusCode() != 200) {
+            throw new RuntimeException("Failed to create user " + user.getUsername() + ": "
+                    + response.getStatusCode() + " " + response.getBody().asString());
+        }
+        
+        return response.jsonPath().getInt("data.id");
+    }
+    
+    /**
+     * Deletes users in a single request
+     * 
+     * @param ids The IDs of the users to delete
+     * @return The IDs reported as deleted by the server
+     */
+    public List<Integer> deleteUsers(int[] ids) {
+        Response response = RestAssured.given()
+                .spec(requestSpec)
+                .body(new DeleteUserRequest(ids))
+                .delete(ApiConfig.USERS_ENDPOINT);
+        
+        if (response.getStatusCode() != 200) {
+            throw new RuntimeException("Failed to delete users: " + response.getStatusCode() + " "
+                    + response.getBody().asString());
+        }
+        
+        List<Integer> deletedIds = new ArrayList<>();
+        for (String id : response.jsonPath().getList("data", String.class)) {
+            deletedIds.add(Integer.parseInt(id));
+        }
+        return deletedIds;
+    }
+    
+    /**
+     * Fetches one page of the users list, ordered by username
+     * 
+     * @param offset The number of users to skip
+     * @param limit The maximum number of users on the page
+     * @return The response body, with the users in "data" and their total in "meta"
+     */
+    public InputStream listUsers(int offset, int limit) {
+        Response response = RestAssured.given()
+                .spec(requestSpec)
+                .queryParam("limit", limit)
+                .queryParam("offset", offset)
+                .queryParam("sortField", "u.userName")
+                .queryParam("sortOrder", "ASC")
+                .get(ApiConfig.USERS_ENDPOINT);
+        
+        if (response.getStatusCode() != 200) {
+            throw new RuntimeException("Failed to list users: " + response.getStatusCode() + " "
+                    + response.getBody().asString());
+        }
+        
+        return response.asInputStream();
+    }
+    
+    /**
+     * Fetches the users list filtered to one exact username
+     * 
+     * @param username The username to look up
+     * @return The response body, in the same form as {@link #listUsers}
+     */
+    public InputStream findUsers(String username) {
+        Response response = RestAssured.given()
+                .spec(requestSpec)
+                .queryParam("username", username)
+                .get(ApiConfig.USERS_ENDPOINT);
+        
+        if (response.getStatusCode() != 200) {
+            throw new RuntimeException("Failed to find user " + username + ": " + response.getStatusCode() + " "
+                    + response.getBody().asString());
+        }
+        
+        return response.asInputStream();
+    }
+}
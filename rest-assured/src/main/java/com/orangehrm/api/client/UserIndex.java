@@ -0,0 +1,127 @@
+package com.orangehrm.api.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Read-only index of usernames to user IDs, built by {@link UserListCrawler}.
+ * Kept as two parallel arrays sorted by username instead of a map, so a table of
+ * a hundred thousand users costs little more than the username strings themselves,
+ * and all users sharing a prefix sit next to each other.
+ */
+public final class UserIndex {
+    private final String[] usernames;
+    private final int[] ids;
+    
+    /**
+     * Usernames and IDs in the order they were read from one page of the list
+     */
+    static final class Page {
+        private String[] usernames;
+        private int[] ids;
+        private int size;
+        
+        Page(int capacity) {
+            usernames = new String[Math.max(capacity, 1)];
+            ids = new int[Math.max(capacity, 1)];
+        }
+        
+        void add(String username, int id) {
+            if (size == ids.length) {
+                usernames = Arrays.copyOf(usernames, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            usernames[size] = username;
+            ids[size] = id;
+            size++;
+        }
+        
+        int size() {
+            return size;
+        }
+    }
+    
+    private UserIndex(String[] usernames, int[] ids) {
+        this.usernames = usernames;
+        this.ids = ids;
+    }
+    
+    /**
+     * Merges pages into an index. A username read twice, because the table changed
+     * while it was being paged through, keeps the ID of the page read last.
+     */
+    static UserIndex of(List<Page> pages) {
+        List<Integer> order = new ArrayList<>();
+        String[] names = new String[pages.stream().mapToInt(Page::size).sum()];
+        int[] userIds = new int[names.length];
+        int n = 0;
+        for (Page page : pages) {
+            System.arraycopy(page.usernames, 0, names, n, page.size);
+            System.arraycopy(page.ids, 0, userIds, n, page.size);
+            n += page.size;
+        }
+        for (int i = 0; i < names.length; i++) {
+            order.add(i);
+        }
+        // Stable sort, so of two equal usernames the later one ends up last
+        order.sort(Comparator.comparing(i -> names[i]));
+        
+        String[] sortedNames = new String[names.length];
+        int[] sortedIds = new int[names.length];
+        int size = 0;
+        for (int i : order) {
+            if (size > 0 && sortedNames[size - 1].equals(names[i])) {
+                size--;
+            }
+            sortedNames[size] = names[i];
+            sortedIds[size] = userIds[i];
+            size++;
+        }
+        return new UserIndex(Arrays.copyOf(sortedNames, size), Arrays.copyOf(sortedIds, size));
+    }
+    
+    public int size() {
+        return usernames.length;
+    }
+    
+    /**
+     * @param username The exact username
+     * @return The ID of the user, empty if there is no such user
+     */
+    public OptionalInt idOf(String username) {
+        int position = Arrays.binarySearch(usernames, username);
+        return position >= 0 ? OptionalInt.of(ids[position]) : OptionalInt.empty();
+    }
+    
+    public boolean contains(String username) {
+        return Arrays.binarySearch(usernames, username) >= 0;
+    }
+    
+    /**
+     * @param prefix The start of the usernames, e.g. "testuser_" for leftover test users
+     * @return The IDs of all users whose username starts with the prefix
+     */
+    public int[] idsWithPrefix(String prefix) {
+        int from = insertionPoint(prefix);
+        int to = from;
+        while (to < usernames.length && usernames[to].startsWith(prefix)) {
+            to++;
+        }
+        return Arrays.copyOfRange(ids, from, to);
+    }
+    
+    /**
+     * @return The IDs of all users, ordered by username
+     */
+    public int[] ids() {
+        return ids.clone();
+    }
+    
+    private int insertionPoint(String key) {
+        int position = Arrays.binarySearch(usernames, key);
+        return position >= 0 ? position : -position - 1;
+    }
+}
@@ -0,0 +1,234 @@
+package com.orangehrm.api.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Reads the whole admin users list into a {@link UserIndex}.
+ * The first page tells the total, after which the remaining pages are fetched
+ * concurrently. Each page is parsed as it is read, keeping only usernames and IDs,
+ * so neither a JSON tree nor the user objects are ever built.
+ * Offset paging is not a snapshot: a user deleted before a page boundary while the
+ * crawl runs shifts the later rows, and one of them is skipped. Callers that need
+ * particular users pass their usernames, and those the pages missed are looked up
+ * with a filtered query.
+ */
+public class UserListCrawler implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(UserListCrawler.class);
+    private static final JsonFactory JSON = new JsonFactory();
+    
+    private final UserApiClient client;
+    private final int pageSize;
+    private final ExecutorService executor;
+    
+    /**
+     * Creates a crawler
+     *
+     * @param client The client used for the requests
+     * @param pageSize The number of users requested per page
+     * @param concurrency The maximum number of pages fetched at once
+     */
+    public UserListCrawler(UserApiClient client, int pageSize, int concurrency) {
+        if (pageSize < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("Page size and concurrency must be positive");
+        }
+        this.client = client;
+        this.pageSize = pageSize;
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "user-crawler-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Creates a crawler configured through the crawl.pageSize and crawl.concurrency
+     * system properties
+     *
+     * @param client The client used for the requests
+     * @return The crawler
+     */
+    public static UserListCrawler fromSystemProperties(UserApiClient client) {
+        return new UserListCrawler(client,
+                Integer.getInteger("crawl.pageSize", 50),
+                Integer.getInteger("crawl.concurrency", 8));
+    }
+    
+    /**
+     * Reads every page of the users list
+     *
+     * @return The index of all users
+     */
+    public UserIndex crawl() {
+        return crawl(List.of());
+    }
+    
+    /**
+     * Reads every page of the users list, then looks up each expected username the
+     * pages missed because the list changed during the crawl
+     *
+     * @param expected Usernames that must be found if they exist
+     * @return The index of all users
+     */
+    public UserIndex crawl(Collection<String> expected) {
+        long start = System.nanoTime();
+        UserIndex.Page firstPage = new UserIndex.Page(pageSize);
+        int total = fetch(0, firstPage);
+        
+        List<Integer> offsets = new ArrayList<>();
+        for (int offset = pageSize; offset < total; offset += pageSize) {
+            offsets.add(offset);
+        }
+        List<UserIndex.Page> pages = new ArrayList<>(offsets.size() + 1);
+        pages.add(firstPage);
+        pages.addAll(await(submitAll(offsets, offset -> {
+            UserIndex.Page page = new UserIndex.Page(pageSize);
+            fetch(offset, page);
+            return page;
+        })));
+        
+        UserIndex index = UserIndex.of(pages);
+        List<String> missed = new ArrayList<>();
+        for (String username : expected) {
+            if (!index.contains(username)) {
+                missed.add(username);
+            }
+        }
+        if (!missed.isEmpty()) {
+            // Filtered pages come last, so their IDs win over anything read before
+            pages.addAll(await(submitAll(missed, username -> {
+                UserIndex.Page page = new UserIndex.Page(1);
+                find(username, page);
+                return page;
+            })));
+            index = UserIndex.of(pages);
+        }
+        logger.info("Indexed {} users from {} pages in {} ms ({} expected users looked up separately)",
+                index.size(), pages.size(), (System.nanoTime() - start) / 1_000_000, missed.size());
+        return index;
+    }
+    
+    private <T> List<Future<UserIndex.Page>> submitAll(List<T> requests, Function<T, UserIndex.Page> read) {
+        List<Future<UserIndex.Page>> futures = new ArrayList<>(requests.size());
+        for (T request : requests) {
+            futures.add(executor.submit(() -> read.apply(request)));
+        }
+        return futures;
+    }
+    
+    private static List<UserIndex.Page> await(List<Future<UserIndex.Page>> futures) {
+        List<UserIndex.Page> pages = new ArrayList<>(futures.size());
+        try {
+            for (Future<UserIndex.Page> future : futures) {
+                pages.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new RuntimeException("Failed to read the users list: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while reading the users list", e);
+        }
+        return pages;
+    }
+    
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+    
+    private void find(String username, UserIndex.Page page) {
+        try (InputStream body = client.findUsers(username)) {
+            parsePage(body, page);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse users page for " + username, e);
+        }
+    }
+    
+    private int fetch(int offset, UserIndex.Page page) {
+        try (InputStream body = client.listUsers(offset, pageSize)) {
+            return parsePage(body, page);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse users page at offset " + offset, e);
+        }
+    }
+    
+    /**
+     * Reads the usernames and IDs of one users list response into a page
+     *
+     * @param body The response body
+     * @param page Receives the users in response order
+     * @return The total number of users reported in "meta"
+     * @throws IOException If the body is not a users list
+     */
+    static int parsePage(InputStream body, UserIndex.Page page) throws IOException {
+        int total = -1;
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readUser(parser, page);
+                    }
+                } else if ("meta".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = parser.getCurrentName();
+                        parser.nextToken();
+                        if ("total".equals(name)) {
+                            total = parser.getIntValue();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (total < 0) {
+            throw new IOException("No total in users list response");
+        }
+        return total;
+    }
+    
+    private static void readUser(JsonParser parser, UserIndex.Page page) throws IOException {
+        int id = -1;
+        String username = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if ("id".equals(name)) {
+                id = parser.getIntValue();
+            } else if ("userName".equals(name)) {
+                username = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (id >= 0 && username != null) {
+            page.add(username, id);
+        }
+    }
+}
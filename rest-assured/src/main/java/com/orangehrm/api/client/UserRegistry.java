@@ -0,0 +1,373 @@
+package com.orangehrm.api.client;
+
+import com.orangehrm.api.config.ApiConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every user created through the admin users endpoint so the suite can delete
+ * whatever the tests left behind.
+ * As a filter it sees each successful create and delete and keeps the users still alive
+ * in a concurrent map, without any I/O or locking on the request path. It runs before all
+ * other filters, so its bookkeeping happens after {@link com.orangehrm.api.metrics.MetricsFilter}
+ * has taken its measurements. Every change is handed to a background thread that appends it
+ * to a journal on disk and flushes it right away, so even a run that is killed leaves its
+ * users in the journal. The next run's {@link #reap} deletes them too, after checking against
+ * the users list that the IDs still belong to them. Reaping compacts the journal down to the
+ * users still alive.
+ * The Selenium module keeps a registry of the same name for the users its scenarios create.
+ * 
+ * Configuration:
+ * -Dregistry.file  journal of the users still alive (default: target/created-users.log)
+ */
+public class UserRegistry implements OrderedFilter {
+    private static final Logger logger = LoggerFactory.getLogger(UserRegistry.class);
+    private static final UserRegistry INSTANCE = new UserRegistry(
+            Paths.get(System.getProperty("registry.file", "target/created-users.log")));
+    
+    private final Path journal;
+    private final ConcurrentMap<Key, Entry> users = new ConcurrentHashMap<>();
+    // The only thread that touches the journal, so appends and compactions keep their order
+    private final ExecutorService appender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-registry-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Confined to the appender thread
+    private Writer writer;
+    
+    /**
+     * A user, identified by the site it was created on and its ID
+     */
+    private static class Key {
+        private final String baseUrl;
+        private final int id;
+        
+        private Key(String baseUrl, int id) {
+            this.baseUrl = baseUrl;
+            this.id = id;
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && ((Key) other).id == id && ((Key) other).baseUrl.equals(baseUrl);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * baseUrl.hashCode() + id;
+        }
+    }
+    
+    private static class Entry {
+        private final String username;
+        private final boolean earlierRun;
+        
+        private Entry(String username, boolean earlierRun) {
+            this.username = username;
+            this.earlierRun = earlierRun;
+        }
+    }
+    
+    /**
+     * Outcome of a reap
+     */
+    public static class ReapResult {
+        private final List<Integer> reclaimedIds;
+        private final int fromEarlierRuns;
+        private final int alreadyGone;
+        private final List<Throwable> failures;
+        
+        ReapResult(List<Integer> reclaimedIds, int fromEarlierRuns, int alreadyGone, List<Throwable> failures) {
+            this.reclaimedIds = reclaimedIds;
+            this.fromEarlierRuns = fromEarlierRuns;
+            this.alreadyGone = alreadyGone;
+            this.failures = failures;
+        }
+        
+        /**
+         * @return The IDs of the users deleted by the reap
+         */
+        public List<Integer> getReclaimedIds() {
+            return reclaimedIds;
+        }
+        
+        /**
+         * @return How many of the reclaimed users were left behind by earlier runs
+         */
+        public int getFromEarlierRuns() {
+            return fromEarlierRuns;
+        }
+        
+        /**
+         * @return How many recorded users of earlier runs no longer existed
+         */
+        public int getAlreadyGone() {
+            return alreadyGone;
+        }
+        
+        /**
+         * @return The errors of the delete requests that failed
+         */
+        public List<Throwable> getFailures() {
+            return failures;
+        }
+    }
+    
+    /**
+     * Creates a registry, loading the users an earlier run left in the journal.
+     * Changes still queued for the journal are written when the JVM exits.
+     * 
+     * @param journal The journal file
+     */
+    public UserRegistry(Path journal) {
+        this.journal = journal;
+        load();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "user-registry-shutdown"));
+    }
+    
+    /**
+     * @return The JVM-wide registry
+     */
+    public static UserRegistry getInstance() {
+        return INSTANCE;
+    }
+    
+    @Override
+    public int getOrder() {
+        // Outermost, so the parsing below is not counted in the request metrics
+        return HIGHEST_PRECEDENCE;
+    }
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (response.getStatusCode() != 200 || !URI.create(requestSpec.getURI()).getPath().equals(ApiConfig.USERS_ENDPOINT)) {
+            return response;
+        }
+        
+        String baseUrl = requestSpec.getBaseUri();
+        if (requestSpec.getMethod().equals("POST")) {
+            record(baseUrl, response.jsonPath().getInt("data.id"), response.jsonPath().getString("data.userName"));
+        } else if (requestSpec.getMethod().equals("DELETE")) {
+            for (String id : response.jsonPath().getList("data", String.class)) {
+                forget(baseUrl, Integer.parseInt(id));
+            }
+        }
+        return response;
+    }
+    
+    /**
+     * Records a created user
+     * 
+     * @param baseUrl The site the user was created on
+     * @param id The ID of the user
+     * @param username The username of the user
+     */
+    public void record(String baseUrl, int id, String username) {
+        users.put(new Key(baseUrl, id), new Entry(username, false));
+        append("+\t" + baseUrl + "\t" + id + "\t" + username);
+    }
+    
+    /**
+     * Forgets a user that was deleted or is looked after elsewhere, e.g. by the fixture pool
+     * 
+     * @param baseUrl The site the user was created on
+     * @param id The ID of the user
+     */
+    public void forget(String baseUrl, int id) {
+        if (users.remove(new Key(baseUrl, id)) != null) {
+            append("-\t" + baseUrl + "\t" + id);
+        }
+    }
+    
+    /**
+     * Deletes every recorded user of the client's site in batched requests with bounded concurrency.
+     * Users left by earlier runs are only deleted if the users list still shows them under the
+     * recorded ID, since a reset site may have given the ID to someone else.
+     * 
+     * @param baseUrl The site the client talks to
+     * @param client The client used to list users
+     * @param provisioner Deletes the users in batches
+     * @return What was reclaimed
+     */
+    public ReapResult reap(String baseUrl, UserApiClient client, BulkUserProvisioner provisioner) {
+        long start = System.nanoTime();
+        List<Integer> ids = new ArrayList<>();
+        List<Integer> stale = new ArrayList<>();
+        UserIndex index = null;
+        int fromEarlierRuns = 0;
+        
+        for (Map.Entry<Key, Entry> user : users.entrySet()) {
+            if (!user.getKey().baseUrl.equals(baseUrl)) {
+                continue;
+            }
+            int id = user.getKey().id;
+            if (!user.getValue().earlierRun) {
+                ids.add(id);
+                continue;
+            }
+            if (index == null) {
+                try (UserListCrawler crawler = UserListCrawler.fromSystemProperties(client)) {
+                    index = crawler.crawl();
+                }
+            }
+            OptionalInt current = index.idOf(user.getValue().username);
+            if (current.isPresent() && current.getAsInt() == id) {
+                ids.add(id);
+                fromEarlierRuns++;
+            } else {
+                stale.add(id);
+            }
+        }
+        for (int id : stale) {
+            forget(baseUrl, id);
+        }
+        
+        List<Integer> reclaimed = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        if (!ids.isEmpty()) {
+            BulkUserProvisioner.Result deleted = provisioner.deleteUsers(ids);
+            reclaimed.addAll(deleted.getIds());
+            failures.addAll(deleted.getFailures());
+            for (int id : deleted.getIds()) {
+                forget(baseUrl, id);
+            }
+        }
+        compact();
+        
+        logger.info("Reaped {} of {} recorded users ({} left by earlier runs, {} already gone, {} failed requests) in {} ms",
+                reclaimed.size(), ids.size(), fromEarlierRuns, stale.size(), failures.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return new ReapResult(reclaimed, fromEarlierRuns, stale.size(), failures);
+    }
+    
+    private void load() {
+        if (!Files.isRegularFile(journal)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(journal, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                if (fields.length == 4 && fields[0].equals("+")) {
+                    users.put(new Key(fields[1], Integer.parseInt(fields[2])), new Entry(fields[3], true));
+                } else if (fields.length == 3 && fields[0].equals("-")) {
+                    users.remove(new Key(fields[1], Integer.parseInt(fields[2])));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Could not read the user journal {}: {}", journal, e.getMessage());
+        }
+        if (!users.isEmpty()) {
+            logger.info("{} users left by earlier runs will be reaped at the end of the suite", users.size());
+        }
+    }
+    
+    /**
+     * Queues a journal line for the appender thread, which flushes it as soon as it is written
+     */
+    private void append(String line) {
+        try {
+            appender.execute(() -> {
+                try {
+                    if (writer == null) {
+                        createParent();
+                        writer = Files.newBufferedWriter(journal, StandardCharsets.UTF_8,
+                                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    }
+                    writer.write(line);
+                    writer.write('\n');
+                    writer.flush();
+                } catch (IOException e) {
+                    logger.warn("Could not append to the user journal {}: {}", journal, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The JVM is shutting down, the line is lost like any change made after the journal closed
+            logger.warn("User journal {} is closed, not recording: {}", journal, line);
+        }
+    }
+    
+    /**
+     * Rewrites the journal with only the users still alive, after the appends queued before it
+     */
+    private void compact() {
+        try {
+            appender.submit(() -> {
+                closeWriter();
+                try {
+                    List<String> lines = new ArrayList<>();
+                    users.forEach((key, entry) -> lines.add("+\t" + key.baseUrl + "\t" + key.id + "\t" + entry.username));
+                    createParent();
+                    Files.write(journal, lines, StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    logger.warn("Could not compact the user journal {}: {}", journal, e.getMessage());
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RejectedExecutionException e) {
+            logger.warn("Could not compact the user journal {}: {}", journal, e.getMessage());
+        }
+    }
+    
+    /**
+     * Writes the queued appends and closes the journal
+     */
+    private void close() {
+        appender.shutdown();
+        try {
+            if (appender.awaitTermination(5, TimeUnit.SECONDS)) {
+                closeWriter();
+            } else {
+                logger.warn("User journal {} still had appends queued at exit", journal);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.warn("Could not close the user journal {}: {}", journal, e.getMessage());
+        }
+        writer = null;
+    }
+    
+    private void createParent() throws IOException {
+        if (journal.getParent() != null) {
+            Files.createDirectories(journal.getParent());
+        }
+    }
+}
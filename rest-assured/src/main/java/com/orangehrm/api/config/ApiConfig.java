@@ -4,8 +4,13 @@ package com.orangehrm.api.config;
  * Configuration for the OrangeHRM API
  */
 public class ApiConfig {
-    // Base URL for the API
-    public static final String BASE_URL = "https://opensource-demo.orangehrmlive.com";
+    // Embedded stub server, enabled with -Dapi.stub=true
+    public static final boolean USE_STUB = Boolean.getBoolean("api.stub");
+    public static final int STUB_PORT = Integer.getInteger("api.stub.port", 8089);
+    
+    // Base URL for the API, can be overridden with -Dapi.baseUrl
+    public static final String BASE_URL = System.getProperty("api.baseUrl",
+            USE_STUB ? "http://localhost:" + STUB_PORT : "https://opensource-demo.orangehrmlive.com");
     
     // Authentication endpoints
     public static final String LOGIN_PAGE_ENDPOINT = "/web/index.php/auth/login";
@@ -15,6 +20,7 @@ public class ApiConfig {
     public static final String DASHBOARD_ENDPOINT = "/web/index.php/dashboard/index";
     public static final String USERS_ENDPOINT = "/web/index.php/api/v2/admin/users";
     public static final String CSRF_TOKEN_ENDPOINT = "/web/index.php/api/v2/core/csrf-token";
+    public static final String EMPLOYEES_ENDPOINT = "/web/index.php/api/v2/pim/employees";
     
     // Default credentials
     public static final String DEFAULT_USERNAME = "Admin";
@@ -0,0 +1,59 @@
+package com.orangehrm.api.fixture;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A pre-provisioned employee together with a user account for that employee.
+ * Handed out by {@link FixturePool} to one test at a time.
+ */
+public class Fixture {
+    private final int empNumber;
+    private final String employeeName;
+    private final int userId;
+    private final String username;
+    private final String password;
+    
+    @JsonCreator
+    public Fixture(@JsonProperty("empNumber") int empNumber,
+                   @JsonProperty("employeeName") String employeeName,
+                   @JsonProperty("userId") int userId,
+                   @JsonProperty("username") String username,
+                   @JsonProperty("password") String password) {
+        this.empNumber = empNumber;
+        this.employeeName = employeeName;
+        this.userId = userId;
+        this.username = username;
+        this.password = password;
+    }
+    
+    public int getEmpNumber() {
+        return empNumber;
+    }
+    
+    public String getEmployeeName() {
+        return employeeName;
+    }
+    
+    public int getUserId() {
+        return userId;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public String getPassword() {
+        return password;
+    }
+    
+    @Override
+    public String toString() {
+        return "Fixture{" +
+                "empNumber=" + empNumber +
+                ", employeeName='" + employeeName + '\'' +
+                ", userId=" + userId +
+                ", username='" + username + '\'' +
+                '}';
+    }
+}
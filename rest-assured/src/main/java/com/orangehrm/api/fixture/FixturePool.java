@@ -0,0 +1,374 @@
+package com.orangehrm.api.fixture;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orangehrm.api.client.EmployeeApiClient;
+import com.orangehrm.api.client.UserApiClient;
+import com.orangehrm.api.client.UserIndex;
+import com.orangehrm.api.client.UserListCrawler;
+import com.orangehrm.api.client.UserRegistry;
+import com.orangehrm.api.model.Employee;
+import com.orangehrm.api.model.User;
+import com.orangehrm.api.util.TestDataGenerator;
+import com.orangehrm.commons.UniqueIds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Suite-level pool of pre-provisioned employees, each with a user account.
+ * The pool is filled concurrently before the tests start and tests lease fixtures
+ * from a blocking queue, so per-test setup is a queue poll instead of a chain of
+ * create requests. Fixtures still in the pool when it is closed are recorded in a
+ * state file and reused by the next run against the same site, after checking that
+ * their users still exist; with recycling off they are deleted instead.
+ * 
+ * Configuration:
+ * -Dfixture.size          fixtures kept in the pool (default: 8)
+ * -Dfixture.leaseTimeout  seconds a lease waits for a free fixture (default: 60)
+ * -Dfixture.state         state file of the fixtures to recycle, outside target so mvn clean keeps it
+ *                         (default: ~/.cache/rest-assured/fixture-pool-<site>.json)
+ * -Dfixture.recycle       keep the fixtures for the next run (default: true)
+ */
+public class FixturePool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(FixturePool.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String FIRST_NAME = "Fixture";
+    private static final String USERNAME_PREFIX = "fixture";
+    
+    private final String baseUrl;
+    private final UserApiClient users;
+    private final EmployeeApiClient employees;
+    private final int size;
+    private final Duration leaseTimeout;
+    private final Path stateFile;
+    private final boolean recycle;
+    private final BlockingQueue<Fixture> available = new LinkedBlockingQueue<>();
+    private final Set<Fixture> owned = ConcurrentHashMap.newKeySet();
+    private final Queue<Integer> retiredEmployees = new ConcurrentLinkedQueue<>();
+    
+    /**
+     * Creates an empty pool, call {@link #fill()} before leasing
+     * 
+     * @param baseUrl The site the fixtures live on, recorded in the state file
+     * @param users The client used to create, check and delete users
+     * @param employees The client used to create and delete employees
+     * @param size The number of fixtures kept in the pool
+     * @param leaseTimeout How long a lease waits for a fixture to be released
+     * @param stateFile The file recording the fixtures between runs
+     * @param recycle Whether fixtures are kept for the next run instead of deleted on close
+     */
+    public FixturePool(String baseUrl, UserApiClient users, EmployeeApiClient employees, int size,
+                       Duration leaseTimeout, Path stateFile, boolean recycle) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Fixture pool size must not be negative");
+        }
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.employees = employees;
+        this.size = size;
+        this.leaseTimeout = leaseTimeout;
+        this.stateFile = stateFile;
+        this.recycle = recycle;
+    }
+    
+    /**
+     * Creates a pool configured through the fixture.* system properties
+     * 
+     * @param baseUrl The site the fixtures live on
+     * @param users The client used to create, check and delete users
+     * @param employees The client used to create and delete employees
+     * @return The pool, not yet filled
+     */
+    public static FixturePool fromSystemProperties(String baseUrl, UserApiClient users, EmployeeApiClient employees) {
+        return new FixturePool(baseUrl, users, employees,
+                Integer.getInteger("fixture.size", 8),
+                Duration.ofSeconds(Long.getLong("fixture.leaseTimeout", 60)),
+                Paths.get(System.getProperty("fixture.state", defaultStateFile(baseUrl).toString())),
+                Boolean.parseBoolean(System.getProperty("fixture.recycle", "true")));
+    }
+    
+    /**
+     * One state file per site, so runs against the demo site and the stub do not overwrite each other
+     */
+    private static Path defaultStateFile(String baseUrl) {
+        URI site = URI.create(baseUrl);
+        String name = site.getHost() + (site.getPort() == -1 ? "" : "_" + site.getPort());
+        return Paths.get(System.getProperty("user.home"), ".cache", "rest-assured", "fixture-pool-" + name + ".json");
+    }
+    
+    /**
+     * Reuses the fixtures recorded by the previous run that still exist and creates
+     * the missing ones concurrently
+     */
+    public void fill() {
+        long start = System.nanoTime();
+        List<Fixture> recycled = recycle ? recycledFixtures() : new ArrayList<>();
+        
+        // A smaller pool than last time gives the surplus back
+        while (recycled.size() > size) {
+            Fixture surplus = recycled.remove(recycled.size() - 1);
+            retiredEmployees.add(surplus.getEmpNumber());
+        }
+        
+        List<Fixture> created = create(size - recycled.size());
+        for (Fixture fixture : recycled) {
+            add(fixture);
+        }
+        for (Fixture fixture : created) {
+            add(fixture);
+        }
+        
+        logger.info("Fixture pool holds {} of {} fixtures ({} recycled, {} created) after {} ms",
+                owned.size(), size, recycled.size(), created.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Takes a fixture out of the pool, waiting for one to be released if all are leased
+     * 
+     * @return The fixture, owned by the caller until it is released or discarded
+     */
+    public Fixture lease() {
+        try {
+            Fixture fixture = available.poll(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (fixture == null) {
+                throw new IllegalStateException("No fixture became available within " + leaseTimeout.getSeconds()
+                        + " s, the pool holds " + owned.size() + " fixtures");
+            }
+            return fixture;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a fixture", e);
+        }
+    }
+    
+    /**
+     * Returns a leased fixture to the pool
+     * 
+     * @param fixture The fixture, unchanged by the test
+     */
+    public void release(Fixture fixture) {
+        if (owned.contains(fixture)) {
+            available.add(fixture);
+        }
+    }
+    
+    /**
+     * Takes a leased fixture out of the pool for good, e.g. because the test deleted its user.
+     * Its employee is deleted when the pool is closed.
+     * 
+     * @param fixture The fixture
+     */
+    public void discard(Fixture fixture) {
+        if (owned.remove(fixture)) {
+            retiredEmployees.add(fixture.getEmpNumber());
+        }
+    }
+    
+    /**
+     * @return The number of fixtures currently available for lease
+     */
+    public int availableCount() {
+        return available.size();
+    }
+    
+    /**
+     * Records the remaining fixtures for the next run, or deletes them when recycling is
+     * off, and deletes the employees of discarded fixtures
+     */
+    @Override
+    public void close() {
+        List<Fixture> remaining = new ArrayList<>(owned);
+        remaining.sort(Comparator.comparingInt(Fixture::getUserId));
+        owned.clear();
+        available.clear();
+        
+        // Fixture users are kept by the state file or deleted with their employees, not by the reaper
+        for (Fixture fixture : remaining) {
+            UserRegistry.getInstance().forget(baseUrl, fixture.getUserId());
+        }
+        
+        if (recycle) {
+            writeState(remaining);
+        } else {
+            for (Fixture fixture : remaining) {
+                retiredEmployees.add(fixture.getEmpNumber());
+            }
+            writeState(List.of());
+        }
+        deleteRetiredEmployees();
+    }
+    
+    private void add(Fixture fixture) {
+        owned.add(fixture);
+        available.add(fixture);
+    }
+    
+    private List<Fixture> create(int count) {
+        List<Fixture> created = new ArrayList<>(count);
+        if (count <= 0) {
+            return created;
+        }
+        
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(count, Integer.getInteger("provision.concurrency", 8)), runnable -> {
+                    Thread thread = new Thread(runnable, "fixture-pool-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            List<Future<Fixture>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                futures.add(executor.submit(this::createFixture));
+            }
+            for (Future<Fixture> future : futures) {
+                try {
+                    created.add(future.get());
+                } catch (ExecutionException e) {
+                    logger.warn("Could not create fixture: {}", e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while creating fixtures", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return created;
+    }
+    
+    private Fixture createFixture() {
+        String lastName = UniqueIds.next();
+        int empNumber = employees.createEmployee(new Employee(FIRST_NAME, "", lastName));
+        String username = TestDataGenerator.generateUsername(USERNAME_PREFIX);
+        String password = TestDataGenerator.generatePassword();
+        try {
+            int userId = users.createUser(new User(username, password, true, 2, empNumber));
+            return new Fixture(empNumber, FIRST_NAME + " " + lastName, userId, username, password);
+        } catch (RuntimeException e) {
+            retiredEmployees.add(empNumber);
+            throw e;
+        }
+    }
+    
+    /**
+     * Reads the fixtures of the previous run and keeps those whose user still exists
+     * under the same ID, found with a single crawl of the users list
+     */
+    private List<Fixture> recycledFixtures() {
+        List<Fixture> recorded = readState();
+        if (recorded.isEmpty()) {
+            return recorded;
+        }
+        
+        UserIndex index;
+        try (UserListCrawler crawler = UserListCrawler.fromSystemProperties(users)) {
+            index = crawler.crawl();
+        } catch (RuntimeException e) {
+            logger.warn("Could not check recorded fixtures, creating new ones: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+        
+        List<Fixture> alive = new ArrayList<>(recorded.size());
+        for (Fixture fixture : recorded) {
+            OptionalInt id = index.idOf(fixture.getUsername());
+            if (id.isPresent() && id.getAsInt() == fixture.getUserId()) {
+                alive.add(fixture);
+            } else if (employeeExists(fixture)) {
+                retiredEmployees.add(fixture.getEmpNumber());
+            }
+        }
+        return alive;
+    }
+    
+    /**
+     * Checks by its unique name that the employee of a stale fixture is still the one
+     * recorded, since a reset site may have given its number to someone else
+     */
+    private boolean employeeExists(Fixture fixture) {
+        try {
+            return employees.findEmployees(fixture.getEmployeeName()).contains(fixture.getEmpNumber());
+        } catch (RuntimeException e) {
+            logger.warn("Could not look up fixture employee {}: {}", fixture.getEmployeeName(), e.getMessage());
+            return false;
+        }
+    }
+    
+    private List<Fixture> readState() {
+        List<Fixture> fixtures = new ArrayList<>();
+        if (!Files.isRegularFile(stateFile)) {
+            return fixtures;
+        }
+        try {
+            JsonNode state = MAPPER.readTree(stateFile.toFile());
+            if (!baseUrl.equals(state.path("baseUrl").asText())) {
+                logger.info("Ignoring fixture state recorded for {}", state.path("baseUrl").asText());
+                return fixtures;
+            }
+            for (JsonNode fixture : state.path("fixtures")) {
+                fixtures.add(MAPPER.treeToValue(fixture, Fixture.class));
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read fixture state from {}: {}", stateFile, e.getMessage());
+        }
+        return fixtures;
+    }
+    
+    private void writeState(List<Fixture> fixtures) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("baseUrl", baseUrl);
+        state.put("fixtures", fixtures);
+        try {
+            if (stateFile.getParent() != null) {
+                Files.createDirectories(stateFile.getParent());
+            }
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(stateFile.toFile(), state);
+        } catch (IOException e) {
+            logger.warn("Could not write fixture state to {}: {}", stateFile, e.getMessage());
+        }
+    }
+    
+    private void deleteRetiredEmployees() {
+        List<Integer> empNumbers = new ArrayList<>();
+        for (Integer empNumber = retiredEmployees.poll(); empNumber != null; empNumber = retiredEmployees.poll()) {
+            empNumbers.add(empNumber);
+        }
+        int chunkSize = Integer.getInteger("provision.deleteChunkSize", 100);
+        for (int from = 0; from < empNumbers.size(); from += chunkSize) {
+            int[] chunk = empNumbers.subList(from, Math.min(from + chunkSize, empNumbers.size()))
+                    .stream().mapToInt(Integer::intValue).toArray();
+            try {
+                // Deleting an employee also deletes the fixture user, so users need no separate request
+                employees.deleteEmployees(chunk);
+            } catch (RuntimeException e) {
+                logger.warn("Could not delete fixture employees {}: {}", Arrays.toString(chunk), e.getMessage());
+            }
+        }
+    }
+}
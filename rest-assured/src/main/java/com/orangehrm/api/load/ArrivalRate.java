@@ -0,0 +1,71 @@
+package com.orangehrm.api.load;
+
+import java.time.Duration;
+
+/**
+ * Request arrival rate of an open workload model: requests are started on a fixed
+ * schedule whether or not earlier requests have finished.
+ * The rate either stays constant or ramps linearly from a start rate to a target
+ * rate and holds the target rate afterwards.
+ */
+public final class ArrivalRate {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    
+    private final double startRate;
+    private final double targetRate;
+    private final double rampSeconds;
+    
+    private ArrivalRate(double startRate, double targetRate, double rampSeconds) {
+        if (startRate < 0 || targetRate <= 0 || rampSeconds < 0) {
+            throw new IllegalArgumentException("Rates must be positive and the ramp must not be negative");
+        }
+        this.startRate = startRate;
+        this.targetRate = targetRate;
+        this.rampSeconds = rampSeconds;
+    }
+    
+    /**
+     * @param perSecond The number of requests started per second
+     * @return A constant arrival rate
+     */
+    public static ArrivalRate constant(double perSecond) {
+        return new ArrivalRate(perSecond, perSecond, 0);
+    }
+    
+    /**
+     * @param fromPerSecond The rate at the start of the run, may be 0
+     * @param toPerSecond The rate reached at the end of the ramp and held afterwards
+     * @param over The length of the ramp
+     * @return A linearly ramping arrival rate
+     */
+    public static ArrivalRate ramp(double fromPerSecond, double toPerSecond, Duration over) {
+        return new ArrivalRate(fromPerSecond, toPerSecond, over.toNanos() / NANOS_PER_SECOND);
+    }
+    
+    /**
+     * Returns when the n-th request is due, by inverting the number of arrivals
+     * expected after t seconds: startRate * t + (targetRate - startRate) * t^2 / (2 * ramp)
+     * during the ramp, and a constant rate after it
+     * 
+     * @param n The number of the request, starting at 0
+     * @return The intended start of the request in nanoseconds since the start of the run
+     */
+    public long offsetNanos(long n) {
+        double arrivalsInRamp = (startRate + targetRate) / 2 * rampSeconds;
+        double seconds;
+        if (n >= arrivalsInRamp) {
+            seconds = rampSeconds + (n - arrivalsInRamp) / targetRate;
+        } else {
+            double a = (targetRate - startRate) / (2 * rampSeconds);
+            seconds = Math.abs(a) < 1e-12 ? n / startRate
+                    : (-startRate + Math.sqrt(startRate * startRate + 4 * a * n)) / (2 * a);
+        }
+        return (long) (seconds * NANOS_PER_SECOND);
+    }
+    
+    @Override
+    public String toString() {
+        return rampSeconds == 0 ? String.format("%.1f/s", targetRate)
+                : String.format("%.1f/s to %.1f/s over %.0fs", startRate, targetRate, rampSeconds);
+    }
+}
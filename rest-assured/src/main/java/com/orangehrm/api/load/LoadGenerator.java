@@ -0,0 +1,208 @@
+package com.orangehrm.api.load;
+
+import com.orangehrm.api.client.BulkUserProvisioner;
+import com.orangehrm.api.client.UserApiClient;
+import com.orangehrm.api.client.UserRegistry;
+import com.orangehrm.api.config.ApiConfig;
+import com.orangehrm.api.model.User;
+import com.orangehrm.api.stub.StubServer;
+import com.orangehrm.api.util.TestDataGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for the admin users API.
+ * Each arrival creates a user and deletes it again through {@link UserApiClient}.
+ * Arrivals follow an {@link ArrivalRate} schedule and are never held back by slow
+ * responses; latencies are measured from the scheduled start time, so a saturated
+ * server shows up as queueing time in the percentiles instead of a lower request rate.
+ * 
+ * Requests run on virtual threads on Java 21 and later, on a cached thread pool
+ * before that. Arrivals beyond the in-flight limit are dropped and reported.
+ * 
+ * Configuration:
+ * -Dload.rate          target arrivals per second (default: 10)
+ * -Dload.rampFrom      arrivals per second at the start of the ramp (default: load.rate)
+ * -Dload.rampSeconds   length of the ramp (default: 0)
+ * -Dload.seconds       length of the whole run including the ramp (default: 60)
+ * -Dload.maxInFlight   iterations in flight before arrivals are dropped (default: 1000)
+ * -Dload.output        JSON report file (default: target/load-report.json)
+ */
+public class LoadGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+    
+    private final UserApiClient client;
+    private final String target;
+    private final ArrivalRate rate;
+    private final int maxInFlight;
+    
+    /**
+     * Creates a load generator
+     * 
+     * @param client The client used for the requests
+     * @param target The name of the system under load, used in the report
+     * @param rate The arrival schedule
+     * @param maxInFlight The maximum number of iterations in flight at once
+     */
+    public LoadGenerator(UserApiClient client, String target, ArrivalRate rate, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Max in flight must be positive");
+        }
+        this.client = client;
+        this.target = target;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+    }
+    
+    /**
+     * Starts iterations on schedule for the given time and waits for them to finish
+     * 
+     * @param duration How long to start new iterations for
+     * @return The counters and latencies of the run
+     */
+    public LoadResult run(Duration duration) {
+        LoadResult result = new LoadResult(target, rate);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        ExecutorService executor = newExecutor();
+        long durationNanos = duration.toNanos();
+        long start = System.nanoTime();
+        
+        for (long n = 0; ; n++) {
+            long offset = rate.offsetNanos(n);
+            if (offset >= durationNanos) {
+                break;
+            }
+            long scheduledAt = start + offset;
+            parkUntil(scheduledAt);
+            result.scheduled();
+            if (!inFlight.tryAcquire()) {
+                result.dropped();
+                continue;
+            }
+            executor.execute(() -> {
+                try {
+                    iteration(scheduledAt, result);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("{} iterations still running after {} s", maxInFlight - inFlight.availablePermits(),
+                        DRAIN_TIMEOUT.getSeconds());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        result.finished(System.nanoTime() - start);
+        return result;
+    }
+    
+    private void iteration(long scheduledAt, LoadResult result) {
+        long startedAt = System.nanoTime();
+        User user = new User(TestDataGenerator.generateUsername("load"), TestDataGenerator.generatePassword(),
+                true, 2, TestDataGenerator.generateEmployeeNumber());
+        
+        int id;
+        try {
+            id = client.createUser(user);
+        } catch (Exception e) {
+            // REST Assured also throws undeclared IOExceptions, e.g. when a connection is refused
+            logger.debug("Create failed: {}", e.getMessage());
+            result.operation(LoadResult.CREATE).failure();
+            result.operation(LoadResult.CREATE_SERVICE_TIME).failure();
+            result.operation(LoadResult.CREATE_AND_DELETE).failure();
+            return;
+        }
+        long createdAt = System.nanoTime();
+        result.operation(LoadResult.CREATE).success(createdAt - scheduledAt);
+        result.operation(LoadResult.CREATE_SERVICE_TIME).success(createdAt - startedAt);
+        
+        try {
+            client.deleteUsers(new int[]{id});
+        } catch (Exception e) {
+            logger.debug("Delete failed: {}", e.getMessage());
+            result.operation(LoadResult.DELETE).failure();
+            result.operation(LoadResult.CREATE_AND_DELETE).failure();
+            return;
+        }
+        long deletedAt = System.nanoTime();
+        result.operation(LoadResult.DELETE).success(deletedAt - createdAt);
+        result.operation(LoadResult.CREATE_AND_DELETE).success(deletedAt - scheduledAt);
+    }
+    
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+    
+    /**
+     * Uses virtual threads when the runtime has them; the module itself targets Java 11
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            Method virtualThreads = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtualThreads.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadNumber = new AtomicInteger(1);
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "load-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+    
+    /**
+     * Runs the load configured through system properties, against the embedded stub
+     * server when -Dapi.stub=true
+     */
+    public static void main(String[] args) throws IOException {
+        double targetRate = Double.parseDouble(System.getProperty("load.rate", "10"));
+        double rampFrom = Double.parseDouble(System.getProperty("load.rampFrom", String.valueOf(targetRate)));
+        Duration ramp = Duration.ofSeconds(Long.getLong("load.rampSeconds", 0));
+        ArrivalRate rate = ramp.isZero() ? ArrivalRate.constant(targetRate) : ArrivalRate.ramp(rampFrom, targetRate, ramp);
+        
+        StubServer stubServer = null;
+        if (ApiConfig.USE_STUB) {
+            stubServer = StubServer.fromSystemProperties(ApiConfig.STUB_PORT);
+            stubServer.start();
+        }
+        try {
+            UserApiClient client = UserApiClient.withDefaultCredentials();
+            LoadGenerator generator = new LoadGenerator(client, ApiConfig.BASE_URL,
+                    rate, Integer.getInteger("load.maxInFlight", 1000));
+            LoadResult result = generator.run(Duration.ofSeconds(Long.getLong("load.seconds", 60)));
+            logger.info("Load run finished:\n{}", result.formatSummary());
+            result.export(Paths.get(System.getProperty("load.output", "target/load-report.json")));
+            
+            // Users whose delete failed or was still in flight at the end of the run
+            try (BulkUserProvisioner provisioner = BulkUserProvisioner.fromSystemProperties(client)) {
+                UserRegistry.getInstance().reap(ApiConfig.BASE_URL, client, provisioner);
+            }
+        } finally {
+            if (stubServer != null) {
+                stubServer.stop();
+            }
+        }
+    }
+}
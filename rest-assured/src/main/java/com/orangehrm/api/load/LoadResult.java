@@ -0,0 +1,169 @@
+package com.orangehrm.api.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.orangehrm.commons.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms of one load run.
+ * Corrected latencies are measured from the moment a request was scheduled to
+ * start, so time spent queueing behind a slow server counts against it instead of
+ * being hidden by a generator that fell behind (coordinated omission). The
+ * uncorrected service time of creates is kept next to it for comparison.
+ */
+public class LoadResult {
+    public static final String CREATE = "create";
+    public static final String CREATE_SERVICE_TIME = "create (uncorrected)";
+    public static final String DELETE = "delete";
+    public static final String CREATE_AND_DELETE = "create+delete";
+    
+    private final String target;
+    private final ArrivalRate rate;
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long elapsedNanos;
+    
+    /**
+     * Latency and outcome counts of one kind of operation
+     */
+    public static class Operation {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder failures = new LongAdder();
+        
+        public void success(long nanos) {
+            latency.record(nanos, TimeUnit.NANOSECONDS);
+        }
+        
+        public void failure() {
+            failures.increment();
+        }
+        
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+        
+        public long getFailures() {
+            return failures.sum();
+        }
+    }
+    
+    public LoadResult(String target, ArrivalRate rate) {
+        this.target = target;
+        this.rate = rate;
+        for (String name : new String[]{CREATE, CREATE_SERVICE_TIME, DELETE, CREATE_AND_DELETE}) {
+            operations.put(name, new Operation());
+        }
+    }
+    
+    public Operation operation(String name) {
+        return operations.get(name);
+    }
+    
+    void scheduled() {
+        scheduled.increment();
+    }
+    
+    void dropped() {
+        dropped.increment();
+    }
+    
+    void finished(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+    
+    public long getScheduled() {
+        return scheduled.sum();
+    }
+    
+    /**
+     * @return The requests that were due but not started because too many were in flight
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+    
+    /**
+     * @return Completed create+delete iterations per second over the whole run
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : operation(CREATE_AND_DELETE).getLatency().getCount() * 1e9 / elapsedNanos;
+    }
+    
+    /**
+     * @return The run summary with percentiles in milliseconds and the dropped arrivals they exclude
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("target", target);
+        summary.put("arrivalRate", rate.toString());
+        summary.put("elapsedSeconds", Math.round(elapsedNanos / 1e7) / 100.0);
+        summary.put("scheduled", getScheduled());
+        summary.put("dropped", getDropped());
+        summary.put("throughputPerSecond", Math.round(getThroughput() * 100) / 100.0);
+        
+        Map<String, Object> latencies = new LinkedHashMap<>();
+        operations.forEach((name, operation) -> {
+            LatencyHistogram histogram = operation.getLatency();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("count", histogram.getCount());
+            entry.put("failures", operation.getFailures());
+            // Dropped arrivals never ran, so the percentiles next to them do not include them
+            entry.put("dropped", getDropped());
+            entry.put("p50Ms", millis(histogram.percentileMicros(50)));
+            entry.put("p90Ms", millis(histogram.percentileMicros(90)));
+            entry.put("p99Ms", millis(histogram.percentileMicros(99)));
+            entry.put("p999Ms", millis(histogram.percentileMicros(99.9)));
+            entry.put("maxMs", millis(histogram.getMaxMicros()));
+            latencies.put(name, entry);
+        });
+        summary.put("operations", latencies);
+        return summary;
+    }
+    
+    /**
+     * Writes the summary as JSON
+     * 
+     * @param file The file to write
+     * @throws IOException If the file cannot be written
+     */
+    public void export(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), summary());
+    }
+    
+    /**
+     * @return A plain text report for the log
+     */
+    public String formatSummary() {
+        StringBuilder report = new StringBuilder(String.format(
+                "Target %s at %s: %d scheduled, %d dropped, %.2f iterations/s over %.1f s%n",
+                target, rate, getScheduled(), getDropped(), getThroughput(), elapsedNanos / 1e9));
+        report.append(String.format("%-22s %7s %8s %8s %8s %8s %8s %8s %8s%n",
+                "OPERATION", "COUNT", "FAILED", "DROPPED", "p50", "p90", "p99", "p99.9", "max"));
+        operations.forEach((name, operation) -> {
+            LatencyHistogram histogram = operation.getLatency();
+            report.append(String.format("%-22s %7d %8d %8d %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                    name, histogram.getCount(), operation.getFailures(), getDropped(),
+                    millis(histogram.percentileMicros(50)), millis(histogram.percentileMicros(90)),
+                    millis(histogram.percentileMicros(99)), millis(histogram.percentileMicros(99.9)),
+                    millis(histogram.getMaxMicros())));
+        });
+        return report.toString();
+    }
+    
+    private static double millis(long micros) {
+        return Math.round(micros / 100.0) / 10.0;
+    }
+}
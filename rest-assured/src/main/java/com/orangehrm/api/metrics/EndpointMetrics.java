@@ -0,0 +1,74 @@
+package com.orangehrm.api.metrics;
+
+import com.orangehrm.commons.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings and payload sizes of all requests to one method and endpoint template
+ */
+public class EndpointMetrics {
+    private final String method;
+    private final String endpoint;
+    private final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+    private final LatencyHistogram totalTime = new LatencyHistogram();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    
+    public EndpointMetrics(String method, String endpoint) {
+        this.method = method;
+        this.endpoint = endpoint;
+    }
+    
+    /**
+     * Records one exchange
+     * 
+     * @param timeToFirstByteNanos Time until the response headers arrived
+     * @param totalNanos Time until the response body was read
+     * @param requestSize Size of the request body in bytes
+     * @param responseSize Size of the response body in bytes
+     * @param statusCode The response status code
+     */
+    public void record(long timeToFirstByteNanos, long totalNanos, long requestSize, long responseSize, int statusCode) {
+        timeToFirstByte.record(timeToFirstByteNanos, TimeUnit.NANOSECONDS);
+        totalTime.record(totalNanos, TimeUnit.NANOSECONDS);
+        requestBytes.add(requestSize);
+        responseBytes.add(responseSize);
+        if (statusCode >= 400) {
+            errors.increment();
+        }
+    }
+    
+    public String getMethod() {
+        return method;
+    }
+    
+    public String getEndpoint() {
+        return endpoint;
+    }
+    
+    public LatencyHistogram getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+    
+    public LatencyHistogram getTotalTime() {
+        return totalTime;
+    }
+    
+    public long getRequestBytes() {
+        return requestBytes.sum();
+    }
+    
+    public long getResponseBytes() {
+        return responseBytes.sum();
+    }
+    
+    /**
+     * @return The number of responses with a 4xx or 5xx status
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+}
@@ -0,0 +1,123 @@
+package com.orangehrm.api.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.orangehrm.commons.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of HTTP latency metrics per method and endpoint template.
+ * Filled by {@link MetricsFilter} from any number of threads without locking and
+ * exported as a percentile summary at the end of a suite.
+ */
+public class HttpMetrics {
+    private static final HttpMetrics INSTANCE = new HttpMetrics();
+    
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    
+    /**
+     * @return The JVM-wide registry
+     */
+    public static HttpMetrics getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Returns the metrics of an endpoint, creating them on first use
+     * 
+     * @param method The HTTP method
+     * @param endpoint The endpoint template, e.g. /web/index.php/api/v2/admin/users
+     * @return The metrics of the endpoint
+     */
+    public EndpointMetrics endpoint(String method, String endpoint) {
+        return endpoints.computeIfAbsent(method + " " + endpoint, key -> new EndpointMetrics(method, endpoint));
+    }
+    
+    public Collection<EndpointMetrics> getEndpoints() {
+        return endpoints.values();
+    }
+    
+    public void clear() {
+        endpoints.clear();
+    }
+    
+    /**
+     * Builds the summary of all endpoints, most total time first
+     * 
+     * @return One map per endpoint with counts, sizes and percentiles in milliseconds
+     */
+    public List<Map<String, Object>> summary() {
+        List<EndpointMetrics> sorted = new ArrayList<>(endpoints.values());
+        sorted.sort(Comparator.comparingLong((EndpointMetrics metrics) -> metrics.getTotalTime().getTotalMicros()).reversed());
+        
+        List<Map<String, Object>> summary = new ArrayList<>();
+        for (EndpointMetrics metrics : sorted) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("method", metrics.getMethod());
+            entry.put("endpoint", metrics.getEndpoint());
+            entry.put("count", metrics.getTotalTime().getCount());
+            entry.put("errors", metrics.getErrors());
+            entry.put("requestBytes", metrics.getRequestBytes());
+            entry.put("responseBytes", metrics.getResponseBytes());
+            entry.put("timeToFirstByte", percentiles(metrics.getTimeToFirstByte()));
+            entry.put("total", percentiles(metrics.getTotalTime()));
+            summary.add(entry);
+        }
+        return summary;
+    }
+    
+    /**
+     * Writes the summary as JSON
+     * 
+     * @param file The file to write
+     * @throws IOException If the file cannot be written
+     */
+    public void export(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), summary());
+    }
+    
+    /**
+     * @return A plain text table of the summary for the log
+     */
+    public String formatSummary() {
+        StringBuilder table = new StringBuilder(String.format("%-6s %-50s %6s %8s %8s %8s %8s %8s%n",
+                "METHOD", "ENDPOINT", "COUNT", "TTFB p50", "p50", "p95", "p99", "max"));
+        for (Map<String, Object> entry : summary()) {
+            @SuppressWarnings("unchecked")
+            Map<String, Double> ttfb = (Map<String, Double>) entry.get("timeToFirstByte");
+            @SuppressWarnings("unchecked")
+            Map<String, Double> total = (Map<String, Double>) entry.get("total");
+            table.append(String.format("%-6s %-50s %6d %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                    entry.get("method"), entry.get("endpoint"), (Long) entry.get("count"),
+                    ttfb.get("p50Ms"), total.get("p50Ms"), total.get("p95Ms"), total.get("p99Ms"), total.get("maxMs")));
+        }
+        return table.toString();
+    }
+    
+    private static Map<String, Double> percentiles(LatencyHistogram histogram) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50Ms", millis(histogram.percentileMicros(50)));
+        percentiles.put("p95Ms", millis(histogram.percentileMicros(95)));
+        percentiles.put("p99Ms", millis(histogram.percentileMicros(99)));
+        percentiles.put("maxMs", millis(histogram.getMaxMicros()));
+        return percentiles;
+    }
+    
+    private static double millis(long micros) {
+        return Math.round(micros / 100.0) / 10.0;
+    }
+}
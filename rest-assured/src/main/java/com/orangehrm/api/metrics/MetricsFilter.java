@@ -0,0 +1,145 @@
+package com.orangehrm.api.metrics;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.Filter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.HttpClient;
+import org.apache.http.impl.client.AbstractHttpClient;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * REST Assured filter that records time to first byte, total time and payload
+ * sizes of every request into {@link HttpMetrics}, keyed by method and endpoint template.
+ * Time to first byte is taken by a response interceptor on the underlying HTTP client,
+ * which fires when the headers arrive and before REST Assured reads the body.
+ */
+public class MetricsFilter implements Filter {
+    private static final MetricsFilter INSTANCE = new MetricsFilter(HttpMetrics.getInstance());
+    
+    // Numeric path segments such as user IDs are folded into one endpoint
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    
+    // Set by the response interceptor on the thread that sends the request
+    private static final ThreadLocal<long[]> HEADERS_RECEIVED_AT = ThreadLocal.withInitial(() -> new long[1]);
+    private static final HttpResponseInterceptor HEADERS_RECEIVED =
+            (response, context) -> HEADERS_RECEIVED_AT.get()[0] = System.nanoTime();
+    
+    private final HttpMetrics metrics;
+    
+    public MetricsFilter(HttpMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    /**
+     * @return A filter recording into the JVM-wide registry
+     */
+    public static MetricsFilter getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Returns a specification with this filter and the HTTP client hook needed for the
+     * time to first byte. REST Assured fixes the client configuration before filters run,
+     * so the hook cannot be installed by the filter itself.
+     * Merge it with RequestSpecification.spec or RequestSpecBuilder.addRequestSpecification.
+     * 
+     * @return The request specification
+     */
+    public static RequestSpecification requestSpec() {
+        return new RequestSpecBuilder()
+                .setConfig(timedConfig(RestAssured.config()))
+                .addFilter(INSTANCE)
+                .build();
+    }
+    
+    /**
+     * Adds the HTTP client hook that records when response headers arrive to the clients
+     * of the configured factory, so a custom factory's proxy and connection settings are kept
+     * 
+     * @param config The configuration to extend
+     * @return The configuration using a client with the hook
+     */
+    @SuppressWarnings("deprecation")
+    public static RestAssuredConfig timedConfig(RestAssuredConfig config) {
+        HttpClientConfig configured = config.getHttpClientConfig();
+        return config.httpClient(configured.httpClientFactory(() -> {
+            HttpClient client = configured.httpClientInstance();
+            // REST Assured needs this client type, others fall back to the total time as time to first byte
+            if (client instanceof AbstractHttpClient && !hasInterceptor((AbstractHttpClient) client)) {
+                ((AbstractHttpClient) client).addResponseInterceptor(HEADERS_RECEIVED);
+            }
+            return client;
+        }));
+    }
+    
+    /**
+     * Whether the hook is already there, since a configuration that reuses its client
+     * returns the same instance to every specification
+     */
+    @SuppressWarnings("deprecation")
+    private static boolean hasInterceptor(AbstractHttpClient client) {
+        for (int i = 0; i < client.getResponseInterceptorCount(); i++) {
+            if (client.getResponseInterceptor(i) == HEADERS_RECEIVED) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long[] headersReceivedAt = HEADERS_RECEIVED_AT.get();
+        long start = System.nanoTime();
+        headersReceivedAt[0] = 0;
+        Response response = ctx.next(requestSpec, responseSpec);
+        long end = System.nanoTime();
+        
+        long timeToFirstByte = headersReceivedAt[0] > 0 ? headersReceivedAt[0] - start : end - start;
+        metrics.endpoint(requestSpec.getMethod(), endpointOf(requestSpec))
+                .record(timeToFirstByte, end - start, sizeOf(requestSpec),
+                        response.asByteArray().length, response.getStatusCode());
+        return response;
+    }
+    
+    static String endpointOf(FilterableRequestSpecification requestSpec) {
+        String path = requestSpec.getUserDefinedPath();
+        if (path == null || path.isEmpty() || path.startsWith("http")) {
+            // Redirects are followed with absolute URLs
+            path = URI.create(path == null || path.isEmpty() ? requestSpec.getURI() : path).getPath();
+        }
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        return NUMERIC_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+    
+    private static long sizeOf(FilterableRequestSpecification requestSpec) {
+        Object body = requestSpec.getBody();
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        if (body != null) {
+            return body.toString().getBytes(StandardCharsets.UTF_8).length;
+        }
+        // Form posts such as the login have no body object, count the encoded form
+        long size = 0;
+        for (Map.Entry<String, String> param : requestSpec.getFormParams().entrySet()) {
+            size += param.getKey().length() + String.valueOf(param.getValue()).length() + 2;
+        }
+        return Math.max(0, size - 1);
+    }
+}
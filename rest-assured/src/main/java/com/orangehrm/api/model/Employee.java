@@ -0,0 +1,58 @@
+package com.orangehrm.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Model class representing an Employee in the OrangeHRM system
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Employee {
+    private String firstName;
+    private String middleName;
+    private String lastName;
+    
+    // Default constructor required for Jackson
+    public Employee() {
+    }
+    
+    // Constructor with all fields
+    public Employee(String firstName, String middleName, String lastName) {
+        this.firstName = firstName;
+        this.middleName = middleName;
+        this.lastName = lastName;
+    }
+    
+    // Getters and Setters
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+    
+    public String getMiddleName() {
+        return middleName;
+    }
+    
+    public void setMiddleName(String middleName) {
+        this.middleName = middleName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+    
+    @Override
+    public String toString() {
+        return "Employee{" +
+                "firstName='" + firstName + '\'' +
+                ", middleName='" + middleName + '\'' +
+                ", lastName='" + lastName + '\'' +
+                '}';
+    }
+}
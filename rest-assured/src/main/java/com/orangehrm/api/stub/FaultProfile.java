@@ -0,0 +1,120 @@
+package com.orangehrm.api.stub;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Error injection rules applied by the stub server before a request is handled
+ */
+public class FaultProfile {
+
+    /**
+     * The kind of fault injected into a response
+     */
+    public enum Kind {
+        /** Respond with an HTTP error status instead of handling the request */
+        ERROR,
+        /** Close the connection without sending a response */
+        DISCONNECT
+    }
+
+    /**
+     * A single fault rule
+     */
+    public static class Rule {
+        private final Kind kind;
+        private final double rate;
+        private final int statusCode;
+
+        public Rule(Kind kind, double rate, int statusCode) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("Fault rate must be between 0 and 1: " + rate);
+            }
+            this.kind = kind;
+            this.rate = rate;
+            this.statusCode = statusCode;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public double getRate() {
+            return rate;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+    }
+
+    private final List<Rule> rules;
+
+    public FaultProfile(List<Rule> rules) {
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+    }
+
+    /**
+     * @return A profile that never injects faults
+     */
+    public static FaultProfile none() {
+        return new FaultProfile(Collections.emptyList());
+    }
+
+    /**
+     * Picks the fault to inject into the next response, if any
+     *
+     * @param random The random source, seeded by the stub server for reproducible runs
+     * @return The rule to apply or null to handle the request normally
+     */
+    public Rule next(Random random) {
+        if (rules.isEmpty()) {
+            return null;
+        }
+
+        double roll = random.nextDouble();
+        double threshold = 0;
+        for (Rule rule : rules) {
+            threshold += rule.getRate();
+            if (roll < threshold) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses a comma separated list of rules: error:RATE[:STATUS] or disconnect:RATE
+     *
+     * @param spec The profile specification, e.g. error:0.05:503,disconnect:0.01
+     * @return The fault profile
+     */
+    public static FaultProfile parse(String spec) {
+        if (spec == null || spec.isEmpty() || spec.equals("none")) {
+            return none();
+        }
+
+        List<Rule> rules = new ArrayList<>();
+        for (String ruleSpec : spec.split(",")) {
+            String[] parts = ruleSpec.trim().split(":");
+            try {
+                switch (parts[0]) {
+                    case "error":
+                        int statusCode = parts.length > 2 ? Integer.parseInt(parts[2]) : 500;
+                        rules.add(new Rule(Kind.ERROR, Double.parseDouble(parts[1]), statusCode));
+                        break;
+                    case "disconnect":
+                        rules.add(new Rule(Kind.DISCONNECT, Double.parseDouble(parts[1]), 0));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown fault rule: " + ruleSpec);
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid fault rule: " + ruleSpec, e);
+            }
+        }
+        return new FaultProfile(rules);
+    }
+}
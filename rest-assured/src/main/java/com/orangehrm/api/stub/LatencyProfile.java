@@ -0,0 +1,92 @@
+package com.orangehrm.api.stub;
+
+import java.util.Random;
+
+/**
+ * Distribution of artificial response delays applied by the stub server
+ */
+public interface LatencyProfile {
+
+    /**
+     * Draws the delay for the next response
+     *
+     * @param random The random source, seeded by the stub server for reproducible runs
+     * @return The delay in milliseconds
+     */
+    long nextDelayMillis(Random random);
+
+    /**
+     * @return A profile that never delays responses
+     */
+    static LatencyProfile none() {
+        return random -> 0;
+    }
+
+    /**
+     * @param millis The delay applied to every response
+     * @return A profile with a constant delay
+     */
+    static LatencyProfile fixed(long millis) {
+        return random -> millis;
+    }
+
+    /**
+     * @param minMillis The smallest delay
+     * @param maxMillis The largest delay
+     * @return A profile with delays spread evenly between the bounds
+     */
+    static LatencyProfile uniform(long minMillis, long maxMillis) {
+        if (maxMillis < minMillis) {
+            throw new IllegalArgumentException("Maximum latency must not be less than minimum: " + minMillis + "-" + maxMillis);
+        }
+        return random -> minMillis + (long) (random.nextDouble() * (maxMillis - minMillis + 1));
+    }
+
+    /**
+     * Log-normal delays have the long right tail typical of real web servers
+     *
+     * @param medianMillis The median delay
+     * @param sigma The standard deviation of the underlying normal distribution
+     * @return A profile with log-normally distributed delays
+     */
+    static LatencyProfile logNormal(double medianMillis, double sigma) {
+        double mu = Math.log(medianMillis);
+        return random -> Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+    }
+
+    /**
+     * Parses a profile from its textual form: none, fixed:MS, uniform:MIN-MAX or lognormal:MEDIAN,SIGMA
+     *
+     * @param spec The profile specification
+     * @return The latency profile
+     */
+    static LatencyProfile parse(String spec) {
+        if (spec == null || spec.isEmpty() || spec.equals("none")) {
+            return none();
+        }
+
+        String[] parts = spec.split(":", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid latency profile: " + spec);
+        }
+
+        try {
+            switch (parts[0]) {
+                case "fixed":
+                    return fixed(Long.parseLong(parts[1]));
+                case "uniform": {
+                    String[] bounds = parts[1].split("-");
+                    return uniform(Long.parseLong(bounds[0]), Long.parseLong(bounds[1]));
+                }
+                case "lognormal": {
+                    String[] params = parts[1].split(",");
+                    return logNormal(Double.parseDouble(params[0]), Double.parseDouble(params[1]));
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown latency profile: " + spec);
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid latency profile: " + spec, e);
+        }
+    }
+}
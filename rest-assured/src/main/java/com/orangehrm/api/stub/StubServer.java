@@ -0,0 +1,654 @@
+package com.orangehrm.api.stub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orangehrm.api.config.ApiConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Offline stand-in for the OrangeHRM endpoints used by the test harness.
+ * Serves the login flow, CSRF token, admin users and PIM employees endpoints from
+ * memory, with configurable latency and fault injection so the harness itself can
+ * be benchmarked without network noise.
+ */
+public class StubServer {
+    private static final Logger logger = LoggerFactory.getLogger(StubServer.class);
+
+    private static final String JSON = "application/json";
+    private static final String HTML = "text/html; charset=UTF-8";
+
+    // Keeps the random sequences of requests and sessions apart
+    private static final long REQUEST_STREAM = 0L;
+    private static final long SESSION_STREAM = 1L;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LatencyProfile latency;
+    private final FaultProfile faults;
+    private final long seed;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ConcurrentMap<String, StubSession> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, StubUser> users = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Integer> userIdsByName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, StubEmployee> employees = new ConcurrentHashMap<>();
+    private final AtomicInteger nextUserId = new AtomicInteger(2);
+    private final AtomicInteger nextEmpNumber = new AtomicInteger(101);
+    private final AtomicInteger nextSessionId = new AtomicInteger(1);
+    private final AtomicLong nextRequest = new AtomicLong();
+
+    /**
+     * Creates a stub server bound to localhost
+     *
+     * @param port The port to listen on, 0 picks a free port
+     * @param latency The latency applied to every response
+     * @param faults The faults injected into responses
+     * @param seed Seed for latency and fault decisions, making runs reproducible. Every request draws from
+     *             its own random source derived from the seed and its arrival number, so concurrent clients
+     *             get the same decisions for the n-th request, whichever handler thread serves it
+     * @throws IOException If the port cannot be bound
+     */
+    public StubServer(int port, LatencyProfile latency, FaultProfile faults, long seed) throws IOException {
+        this.latency = latency;
+        this.faults = faults;
+        this.seed = seed;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+
+        seedEmployees();
+        users.put(1, new StubUser(1, ApiConfig.DEFAULT_USERNAME, ApiConfig.DEFAULT_PASSWORD, true, 1, 101));
+        userIdsByName.put(ApiConfig.DEFAULT_USERNAME, 1);
+    }
+
+    /**
+     * Creates a stub server configured through the stub.latency, stub.faults and stub.seed system properties
+     *
+     * @param port The port to listen on, 0 picks a free port
+     * @return The stub server, not yet started
+     * @throws IOException If the port cannot be bound
+     */
+    public static StubServer fromSystemProperties(int port) throws IOException {
+        return new StubServer(port,
+                LatencyProfile.parse(System.getProperty("stub.latency", "none")),
+                FaultProfile.parse(System.getProperty("stub.faults", "none")),
+                Long.getLong("stub.seed", 42L));
+    }
+
+    public void start() {
+        server.start();
+        logger.info("Stub server listening on {}", getBaseUrl());
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("Stub server stopped");
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + getPort();
+    }
+
+    /**
+     * Adds an employee that can be searched for and assigned to users
+     *
+     * @return The employee number
+     */
+    public int addEmployee(String firstName, String middleName, String lastName) {
+        int empNumber = nextEmpNumber.getAndIncrement();
+        employees.put(empNumber, new StubEmployee(empNumber, firstName, middleName, lastName));
+        return empNumber;
+    }
+
+    /**
+     * @return The number of users currently stored, including the default admin
+     */
+    public int getUserCount() {
+        return users.size();
+    }
+
+    private void seedEmployees() {
+        String[][] names = {
+                {"Charlie", "", "Carter"}, {"Odis", "", "Adalwin"}, {"Peter", "Mac", "Anderson"},
+                {"Linda", "Jane", "Anderson"}, {"Cassidy", "", "Hope"}, {"Kevin", "", "Mathews"},
+                {"Anthony", "", "Nolan"}, {"Fiona", "", "Grace"}, {"Dominic", "", "Chase"},
+                {"Paul", "", "Collings"}, {"Lisa", "", "Andrews"}, {"Cecil", "", "Bonaparte"},
+                {"Aaliyah", "", "Haq"}, {"Rebecca", "", "Harmony"}, {"Joe", "", "Root"},
+                {"Orange", "", "Test"}
+        };
+        for (String[] name : names) {
+            addEmployee(name[0], name[1], name[2]);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Random random = randomFor(REQUEST_STREAM, nextRequest.getAndIncrement());
+            long delay = latency.nextDelayMillis(random);
+            if (delay > 0) {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            }
+
+            FaultProfile.Rule fault = faults.next(random);
+            if (fault != null && fault.getKind() == FaultProfile.Kind.DISCONNECT) {
+                // Closing before the headers are sent drops the connection
+                exchange.close();
+                return;
+            }
+            if (fault != null) {
+                sendError(exchange, fault.getStatusCode(), "Injected fault");
+                return;
+            }
+
+            route(exchange);
+        } catch (JsonProcessingException e) {
+            sendError(exchange, 400, "Invalid JSON body");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+        } catch (RuntimeException e) {
+            logger.error("Stub server failed to handle {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            sendError(exchange, 500, "Unexpected error: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+
+        if (path.equals(ApiConfig.LOGIN_PAGE_ENDPOINT) && method.equals("GET")) {
+            handleLoginPage(exchange);
+        } else if (path.equals(ApiConfig.AUTH_VALIDATE_ENDPOINT) && method.equals("POST")) {
+            handleValidate(exchange);
+        } else if (path.equals(ApiConfig.DASHBOARD_ENDPOINT) && method.equals("GET")) {
+            handleDashboard(exchange);
+        } else if (path.equals(ApiConfig.CSRF_TOKEN_ENDPOINT) && method.equals("GET")) {
+            handleCsrfToken(exchange);
+        } else if (path.equals(ApiConfig.USERS_ENDPOINT) && method.equals("GET")) {
+            handleListUsers(exchange);
+        } else if (path.equals(ApiConfig.USERS_ENDPOINT) && method.equals("POST")) {
+            handleCreateUser(exchange);
+        } else if (path.equals(ApiConfig.USERS_ENDPOINT) && method.equals("DELETE")) {
+            handleDeleteUsers(exchange);
+        } else if (path.equals(ApiConfig.EMPLOYEES_ENDPOINT) && method.equals("GET")) {
+            handleEmployees(exchange);
+        } else if (path.equals(ApiConfig.EMPLOYEES_ENDPOINT) && method.equals("POST")) {
+            handleCreateEmployee(exchange);
+        } else if (path.equals(ApiConfig.EMPLOYEES_ENDPOINT) && method.equals("DELETE")) {
+            handleDeleteEmployees(exchange);
+        } else {
+            sendError(exchange, 404, "Not Found");
+        }
+    }
+
+    private void handleLoginPage(HttpExchange exchange) throws IOException {
+        StubSession session = newSession(false);
+        exchange.getResponseHeaders().add("Set-Cookie", sessionCookie(session));
+
+        String html = "<!DOCTYPE html><html lang=\"en\"><head><title>OrangeHRM</title></head><body>"
+                + "<div id=\"app\"><auth-login :error=\"null\" :token=\"&quot;" + session.csrfToken + "&quot;\""
+                + " :is-demo-mode=\"true\"></auth-login></div></body></html>";
+        send(exchange, 200, HTML, html.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handleValidate(HttpExchange exchange) throws IOException {
+        StubSession session = currentSession(exchange);
+        Map<String, String> form = parseForm(readBody(exchange));
+
+        Integer userId = userIdsByName.get(form.getOrDefault("username", ""));
+        StubUser user = userId == null ? null : users.get(userId);
+        boolean valid = session != null
+                && session.csrfToken.equals(form.get("_token"))
+                && user != null && user.status
+                && user.password.equals(form.get("password"));
+
+        if (!valid) {
+            exchange.getResponseHeaders().add("Location", baseUrl(exchange) + ApiConfig.LOGIN_PAGE_ENDPOINT);
+            send(exchange, 302, HTML, new byte[0]);
+            return;
+        }
+
+        // Regenerate the session id on login the same way the real application does
+        sessions.remove(session.id);
+        StubSession authenticated = newSession(true);
+        exchange.getResponseHeaders().add("Set-Cookie", sessionCookie(authenticated));
+        exchange.getResponseHeaders().add("Location", baseUrl(exchange) + ApiConfig.DASHBOARD_ENDPOINT);
+        send(exchange, 302, HTML, new byte[0]);
+    }
+
+    private void handleDashboard(HttpExchange exchange) throws IOException {
+        if (!isAuthenticated(exchange)) {
+            exchange.getResponseHeaders().add("Location", baseUrl(exchange) + ApiConfig.LOGIN_PAGE_ENDPOINT);
+            send(exchange, 302, HTML, new byte[0]);
+            return;
+        }
+
+        String html = "<!DOCTYPE html><html lang=\"en\"><head><title>OrangeHRM</title></head><body>"
+                + "<div id=\"app\"><oxd-layout></oxd-layout></div></body></html>";
+        send(exchange, 200, HTML, html.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handleCsrfToken(HttpExchange exchange) throws IOException {
+        StubSession session = currentSession(exchange);
+        if (session == null || !session.authenticated) {
+            sendError(exchange, 401, "Session expired");
+            return;
+        }
+        sendJson(exchange, 200, envelope(session.csrfToken));
+    }
+
+    private void handleCreateUser(HttpExchange exchange) throws IOException {
+        if (!isAuthenticated(exchange)) {
+            sendError(exchange, 401, "Session expired");
+            return;
+        }
+
+        Map<?, ?> body = objectMapper.readValue(readBody(exchange), Map.class);
+        Object username = body.get("username");
+        Object password = body.get("password");
+        Object empNumber = body.get("empNumber");
+        Object userRoleId = body.get("userRoleId");
+
+        if (!(username instanceof String) || ((String) username).length() < 5
+                || !(password instanceof String) || ((String) password).length() < 7
+                || !(empNumber instanceof Number) || !employees.containsKey(((Number) empNumber).intValue())
+                || !(userRoleId instanceof Number)) {
+            sendError(exchange, 422, "Invalid Parameter");
+            return;
+        }
+
+        int id = nextUserId.getAndIncrement();
+        if (userIdsByName.putIfAbsent((String) username, id) != null) {
+            sendError(exchange, 422, "Invalid Parameter");
+            return;
+        }
+
+        StubUser user = new StubUser(id, (String) username, (String) password,
+                !Boolean.FALSE.equals(body.get("status")),
+                ((Number) userRoleId).intValue(), ((Number) empNumber).intValue());
+        users.put(id, user);
+        sendJson(exchange, 200, envelope(toJson(user)));
+    }
+
+    private void handleListUsers(HttpExchange exchange) throws IOException {
+        if (!isAuthenticated(exchange)) {
+            sendError(exchange, 401, "Session expired");
+            return;
+        }
+        
+        Map<String, String> query = parseForm(exchange.getRequestURI().getRawQuery());
+        int limit;
+        int offset;
+        try {
+            limit = Integer.parseInt(query.getOrDefault("limit", "50"));
+            offset = Integer.parseInt(query.getOrDefault("offset", "0"));
+        } catch (NumberFormatException e) {
+            sendError(exchange, 422, "Invalid Parameter");
+            return;
+        }
+        if (limit < 0 || offset < 0) {
+            sendError(exchange, 422, "Invalid Parameter");
+            return;
+        }
+        
+        // Ordered by username like the real list, with limit 0 meaning all records
+        List<StubUser> sorted = new ArrayList<>(users.values());
+        String username = query.get("username");
+        if (username != null) {
+            sorted.removeIf(user -> !user.username.equals(username));
+        }
+        sorted.sort(Comparator.comparing((StubUser user) -> user.username));
+        if ("DESC".equalsIgnoreCase(query.get("sortOrder"))) {
+            Collections.reverse(sorted);
+        }
+        int to = limit == 0 ? sorted.size() : (int) Math.min(sorted.size(), (long) offset + limit);
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (StubUser user : sorted.subList(Math.min(offset, to), to)) {
+            data.add(toJson(user));
+        }
+        
+        Map<String, Object> response = envelope(data);
+        response.put("meta", Map.of("total", sorted.size()));
+        sendJson(exchange, 200, response);
+    }
+    
+    private void handleDeleteUsers(HttpExchange exchange) throws IOException {
+        if (!isAuthenticated(exchange)) {
+            sendError(exchange, 401, "Session expired");
+            return;
+        }
+
+        Map<?, ?> body = objectMapper.readValue(readBody(exchange), Map.class);
+        Object ids = body.get("ids");
+        if (!(ids instanceof Collection)) {
+            sendError(exchange, 422, "Invalid Parameter");
+            return;
+        }
+
+        List<String> deleted = new ArrayList<>();
+        for (Object id : (Collection<?>) ids) {
+            if (!(id instanceof Number)) {
+                continue;
+            }
+            StubUser user = users.remove(((Number) id).intValue());
+            if (user != null) {
+                userIdsByName.remove(user.username, user.id);
+                deleted.add(String.valueOf(user.id));
+            }
+        }
+
+        if (deleted.isEmpty()) {
+            sendError(exchange, 404, "Records Not Found");
+            return;
+        }
+        sendJson(exchange, 200, envelope(deleted));
+    }
+
+    private void handleEmployees(HttpExchange exchange) throws IOException {
+        // The UI helper calls this endpoint with a fixed demo cookie, so no session check is made here
+        String nameOrId = parseForm(exchange.getRequestURI().getRawQuery())
+                .getOrDefault("nameOrId", "").toLowerCase(Locale.ROOT);
+
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (StubEmployee employee : employees.values()) {
+            if (employee.fullName().toLowerCase(Locale.ROOT).contains(nameOrId)
+                    || employee.employeeId().equals(nameOrId)) {
+                data.add(toJson(employee));
+            }
+        }
+
+        Map<String, Object> response = envelope(data);
+        response.put("meta", Map.of("total", data.size()));
+        sendJson(exchange, 200, response);
+    }
+
+    private void handleCreateEmployee(HttpExchange exchange) throws IOException {
+        if (!isAuthenticated(exchange)) {
+            sendError(exchange, 401, "Session expired");
+            return;
+        }
+        
+        Map<?, ?> body = objectMapper.readValue(readBody(exchange), Map.class);
+        Object firstName = body.get("firstName");
+        Object middleName = body.get("middleName");
+        Object lastName = body.get("lastName");
+        
+        if (!(firstName instanceof String) || ((String) firstName).isEmpty()
+                || !(lastName instanceof String) || ((String) lastName).isEmpty()
+                || (middleName != null && !(middleName instanceof String))) {
+            sendError(exchange, 422, "Invalid Parameter");
+            return;
+        }
+        
+        int empNumber = addEmployee((String) firstName, middleName == null ? "" : (String) middleName, (String) lastName);
+        sendJson(exchange, 200, envelope(toJson(employees.get(empNumber))));
+    }
+    
+    private void handleDeleteEmployees(HttpExchange exchange) throws IOException {
+        if (!isAuthenticated(exchange)) {
+            sendError(exchange, 401, "Session expired");
+            return;
+        }
+        
+        Map<?, ?> body = objectMapper.readValue(readBody(exchange), Map.class);
+        Object ids = body.get("ids");
+        if (!(ids instanceof Collection)) {
+            sendError(exchange, 422, "Invalid Parameter");
+            return;
+        }
+        
+        List<String> deleted = new ArrayList<>();
+        for (Object id : (Collection<?>) ids) {
+            if (!(id instanceof Number) || !employees.containsKey(((Number) id).intValue())) {
+                continue;
+            }
+            // Like the real system, deleting an employee also deletes their user accounts.
+            // Users go first so a concurrent users list never sees a user without an employee.
+            int empNumber = ((Number) id).intValue();
+            users.values().removeIf(user -> {
+                if (user.empNumber != empNumber) {
+                    return false;
+                }
+                userIdsByName.remove(user.username, user.id);
+                return true;
+            });
+            if (employees.remove(empNumber) != null) {
+                deleted.add(String.valueOf(empNumber));
+            }
+        }
+        
+        if (deleted.isEmpty()) {
+            sendError(exchange, 404, "Records Not Found");
+            return;
+        }
+        sendJson(exchange, 200, envelope(deleted));
+    }
+    
+    private StubSession newSession(boolean authenticated) {
+        int number = nextSessionId.getAndIncrement();
+        Random random = randomFor(SESSION_STREAM, number);
+        String id = Integer.toString(number, 36) + Long.toHexString(random.nextLong());
+        String csrfToken = Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong());
+        StubSession session = new StubSession(id, csrfToken, authenticated);
+        sessions.put(id, session);
+        return session;
+    }
+
+    /**
+     * Random source for the n-th request or session, derived from the seed alone rather than from a
+     * generator shared by the handler threads, whose draws would depend on how the threads interleave
+     */
+    private Random randomFor(long stream, long number) {
+        // SplittableRandom mixes its seed, so neighbouring numbers get unrelated sequences
+        long mixed = new SplittableRandom(seed).nextLong() ^ (stream << 62) ^ number;
+        return new Random(new SplittableRandom(mixed).nextLong());
+    }
+
+    private StubSession currentSession(HttpExchange exchange) {
+        List<String> cookieHeaders = exchange.getRequestHeaders().get("Cookie");
+        if (cookieHeaders == null) {
+            return null;
+        }
+        for (String header : cookieHeaders) {
+            for (String cookie : header.split(";")) {
+                String[] pair = cookie.trim().split("=", 2);
+                if (pair.length == 2 && pair[0].equals("orangehrm")) {
+                    return sessions.get(pair[1]);
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isAuthenticated(HttpExchange exchange) {
+        StubSession session = currentSession(exchange);
+        return session != null && session.authenticated;
+    }
+
+    private static String sessionCookie(StubSession session) {
+        return "orangehrm=" + session.id + "; path=/web; HttpOnly";
+    }
+
+    private static String baseUrl(HttpExchange exchange) {
+        return "http://" + exchange.getRequestHeaders().getFirst("Host");
+    }
+
+    private static Map<String, String> parseForm(String encoded) {
+        Map<String, String> values = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return values;
+        }
+        for (String pair : encoded.split("&")) {
+            String[] parts = pair.split("=", 2);
+            values.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8),
+                    parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "");
+        }
+        return values;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<String, Object> envelope(Object data) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("data", data);
+        response.put("meta", List.of());
+        response.put("rels", List.of());
+        return response;
+    }
+
+    private Map<String, Object> toJson(StubUser user) {
+        Map<String, Object> role = new LinkedHashMap<>();
+        role.put("id", user.userRoleId);
+        role.put("name", user.userRoleId == 1 ? "Admin" : "ESS");
+        role.put("displayName", user.userRoleId == 1 ? "Admin" : "ESS");
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", user.id);
+        json.put("userName", user.username);
+        json.put("deleted", false);
+        json.put("status", user.status);
+        json.put("employee", toJson(employees.get(user.empNumber)));
+        json.put("userRole", role);
+        return json;
+    }
+
+    private static Map<String, Object> toJson(StubEmployee employee) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("empNumber", employee.empNumber);
+        json.put("employeeId", employee.employeeId());
+        json.put("firstName", employee.firstName);
+        json.put("middleName", employee.middleName);
+        json.put("lastName", employee.lastName);
+        json.put("terminationId", null);
+        return json;
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("status", String.valueOf(status));
+        error.put("message", message);
+        sendJson(exchange, status, Map.of("error", error));
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, JSON, objectMapper.writeValueAsBytes(body));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static class StubSession {
+        private final String id;
+        private final String csrfToken;
+        private final boolean authenticated;
+
+        StubSession(String id, String csrfToken, boolean authenticated) {
+            this.id = id;
+            this.csrfToken = csrfToken;
+            this.authenticated = authenticated;
+        }
+    }
+
+    private static class StubUser {
+        private final int id;
+        private final String username;
+        private final String password;
+        private final boolean status;
+        private final int userRoleId;
+        private final int empNumber;
+
+        StubUser(int id, String username, String password, boolean status, int userRoleId, int empNumber) {
+            this.id = id;
+            this.username = username;
+            this.password = password;
+            this.status = status;
+            this.userRoleId = userRoleId;
+            this.empNumber = empNumber;
+        }
+    }
+
+    private static class StubEmployee {
+        private final int empNumber;
+        private final String firstName;
+        private final String middleName;
+        private final String lastName;
+
+        StubEmployee(int empNumber, String firstName, String middleName, String lastName) {
+            this.empNumber = empNumber;
+            this.firstName = firstName;
+            this.middleName = middleName;
+            this.lastName = lastName;
+        }
+
+        String employeeId() {
+            return String.format("%04d", empNumber);
+        }
+
+        String fullName() {
+            return middleName.isEmpty() ? firstName + " " + lastName : firstName + " " + middleName + " " + lastName;
+        }
+    }
+
+    /**
+     * Runs the stub server standalone so other modules can point at it with -Dapi.baseUrl
+     *
+     * @param args Optional port, defaults to the api.stub.port system property
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : ApiConfig.STUB_PORT;
+        StubServer stubServer = fromSystemProperties(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(stubServer::stop));
+        stubServer.start();
+    }
+}
@@ -1,6 +1,7 @@
 package com.orangehrm.api.util;
 
 import com.orangehrm.api.config.ApiConfig;
+import com.orangehrm.api.metrics.MetricsFilter;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
@@ -49,11 +50,10 @@ public class AuthenticationUtil {
     public static AuthResult authenticate(String username, String password) {
         logger.info("Authenticating with username: {}", username);
         
-        // Enable logging for debugging
-        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
-        
         // First, get the login page to get the initial cookies and CSRF token
         Response loginPageResponse = RestAssured.given()
+                .spec(MetricsFilter.requestSpec())
+                .filter(ExchangeCapture.getInstance())
                 .baseUri(ApiConfig.BASE_URL)
                 .header("User-Agent", ApiConfig.USER_AGENT)
                 .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,image/apng,*/*;q=0.8,application/signed-exchange;v=b3;q=0.7")
@@ -90,6 +90,8 @@ public class AuthenticationUtil {
         
         // Now perform the login with form parameters to the validate endpoint
         Response loginResponse = RestAssured.given()
+                .spec(MetricsFilter.requestSpec())
+                .filter(ExchangeCapture.getInstance())
                 .baseUri(ApiConfig.BASE_URL)
                 .header("User-Agent", ApiConfig.USER_AGENT)
                 .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,image/apng,*/*;q=0.8,application/signed-exchange;v=b3;q=0.7")
@@ -106,7 +108,6 @@ public class AuthenticationUtil {
                 .formParam("username", username)
                 .formParam("password", password)
                 .redirects().follow(false) // Don't follow redirects automatically
-                .log().all()
                 .post(ApiConfig.AUTH_VALIDATE_ENDPOINT);
         
         // Check response status
@@ -128,6 +129,8 @@ public class AuthenticationUtil {
         
         // Follow the redirect
         Response redirectResponse = RestAssured.given()
+                .spec(MetricsFilter.requestSpec())
+                .filter(ExchangeCapture.getInstance())
                 .baseUri(ApiConfig.BASE_URL)
                 .header("User-Agent", ApiConfig.USER_AGENT)
                 .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,image/apng,*/*;q=0.8,application/signed-exchange;v=b3;q=0.7")
@@ -158,6 +161,8 @@ public class AuthenticationUtil {
         if (dashboardCsrfToken == null || dashboardCsrfToken.isEmpty()) {
             // Try to get it from a dedicated API endpoint
             Response tokenResponse = RestAssured.given()
+                    .spec(MetricsFilter.requestSpec())
+                    .filter(ExchangeCapture.getInstance())
                     .baseUri(ApiConfig.BASE_URL)
                     .header("User-Agent", ApiConfig.USER_AGENT)
                     .header("Accept", "application/json")
@@ -185,7 +190,7 @@ public class AuthenticationUtil {
      * @param html The HTML content
      * @return The CSRF token or null if not found
      */
-    private static String extractCsrfToken(String html) {
+    static String extractCsrfToken(String html) {
         // First try to find the token in the Vue.js component attribute (login page)
         Pattern vuePattern = Pattern.compile(":token=\"&quot;([^&]+)&quot;\"");
         Matcher vueMatcher = vuePattern.matcher(html);
@@ -214,11 +219,55 @@ public class AuthenticationUtil {
     }
     
     /**
-     * Authenticates with the default credentials
+     * Returns a session from the JVM-wide session cache, logging in only if no valid
+     * session exists for the username yet
+     * 
+     * @param username The username to authenticate with
+     * @param password The password to authenticate with
+     * @return The authentication result containing session cookie and CSRF token
+     */
+    public static AuthResult authenticateCached(String username, String password) {
+        return SessionCache.getInstance().get(ApiConfig.BASE_URL, username,
+                () -> authenticate(username, password),
+                AuthenticationUtil::revalidate);
+    }
+    
+    /**
+     * Checks that a session is still accepted by the server by requesting a fresh CSRF token
+     * 
+     * @param authResult The authentication result to check
+     * @return The authentication result with the current CSRF token, or null if the session is no longer valid
+     */
+    public static AuthResult revalidate(AuthResult authResult) {
+        Response tokenResponse = RestAssured.given()
+                .spec(MetricsFilter.requestSpec())
+                .filter(ExchangeCapture.getInstance())
+                .baseUri(ApiConfig.BASE_URL)
+                .header("User-Agent", ApiConfig.USER_AGENT)
+                .header("Accept", "application/json")
+                .cookie("orangehrm", authResult.getSessionCookie())
+                .redirects().follow(false)
+                .get(ApiConfig.CSRF_TOKEN_ENDPOINT);
+        
+        if (tokenResponse.getStatusCode() != 200) {
+            logger.info("Session revalidation failed with status code: {}", tokenResponse.getStatusCode());
+            return null;
+        }
+        
+        String csrfToken = tokenResponse.jsonPath().getString("data");
+        if (csrfToken == null || csrfToken.isEmpty()) {
+            csrfToken = authResult.getCsrfToken();
+        }
+        
+        return new AuthResult(authResult.getSessionCookie(), csrfToken);
+    }
+    
+    /**
+     * Authenticates with the default credentials, reusing the cached session when available
      * 
      * @return The authentication result containing session cookie and CSRF token
      */
     public static AuthResult authenticateWithDefaultCredentials() {
-        return authenticate(ApiConfig.DEFAULT_USERNAME, ApiConfig.DEFAULT_PASSWORD);
+        return authenticateCached(ApiConfig.DEFAULT_USERNAME, ApiConfig.DEFAULT_PASSWORD);
     }
 } 
\ No newline at end of file
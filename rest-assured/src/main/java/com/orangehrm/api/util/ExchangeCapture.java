@@ -0,0 +1,199 @@
+package com.orangehrm.api.util;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the last exchanges of each thread in memory and logs them only on request,
+ * typically because a test failed, instead of logging every request and response.
+ * Nothing is formatted while tests pass. A dump hands a snapshot to a background
+ * thread that formats and logs it, so test threads never wait for console output;
+ * dumps that do not fit the queue are dropped and counted.
+ *
+ * Configuration:
+ * -Dcapture.size  exchanges kept per thread (default: 20)
+ */
+public class ExchangeCapture implements Filter {
+    private static final Logger logger = LoggerFactory.getLogger(ExchangeCapture.class);
+    private static final ExchangeCapture INSTANCE = new ExchangeCapture(Integer.getInteger("capture.size", 20));
+    private static final int MAX_BODY_LENGTH = 10_000;
+
+    private final ThreadLocal<Ring> rings;
+    private final LongAdder droppedDumps = new LongAdder();
+    private final ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(64),
+            runnable -> {
+                Thread thread = new Thread(runnable, "exchange-capture-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * One request and its response, formatted only when dumped
+     */
+    private static class Exchange {
+        private final Instant time;
+        private final long durationMillis;
+        private final String method;
+        private final String uri;
+        private final Headers requestHeaders;
+        private final Object requestBody;
+        private final Map<String, String> formParams;
+        private final Response response;
+
+        private Exchange(Instant time, long durationMillis, FilterableRequestSpecification request, Response response) {
+            this.time = time;
+            this.durationMillis = durationMillis;
+            this.method = request.getMethod();
+            this.uri = request.getURI();
+            this.requestHeaders = request.getHeaders();
+            this.requestBody = request.getBody();
+            this.formParams = request.getFormParams();
+            this.response = response;
+        }
+    }
+
+    /**
+     * Fixed-size buffer owned by a single thread, so it needs no locking
+     */
+    private static class Ring {
+        private final Exchange[] slots;
+        private int next;
+        private int size;
+
+        private Ring(int capacity) {
+            this.slots = new Exchange[capacity];
+        }
+
+        private void add(Exchange exchange) {
+            slots[next] = exchange;
+            next = (next + 1) % slots.length;
+            size = Math.min(size + 1, slots.length);
+        }
+
+        private List<Exchange> snapshot() {
+            List<Exchange> exchanges = new ArrayList<>(size);
+            for (int i = size; i > 0; i--) {
+                exchanges.add(slots[(next - i + slots.length) % slots.length]);
+            }
+            return exchanges;
+        }
+
+        private void clear() {
+            Arrays.fill(slots, null);
+            next = 0;
+            size = 0;
+        }
+    }
+
+    /**
+     * Creates a capture
+     *
+     * @param capacity The number of exchanges kept per thread
+     */
+    public ExchangeCapture(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capture size must be positive");
+        }
+        this.rings = ThreadLocal.withInitial(() -> new Ring(capacity));
+    }
+
+    /**
+     * @return The JVM-wide capture
+     */
+    public static ExchangeCapture getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Instant time = Instant.now();
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        rings.get().add(new Exchange(time, (System.nanoTime() - start) / 1_000_000, requestSpec, response));
+        return response;
+    }
+
+    /**
+     * Forgets the exchanges of the current thread, e.g. before a new test starts
+     */
+    public void clear() {
+        rings.get().clear();
+    }
+
+    /**
+     * Logs the exchanges of the current thread in the background
+     *
+     * @param reason Why the exchanges are dumped, e.g. the name of the failed test
+     */
+    public void dump(String reason) {
+        List<Exchange> exchanges = rings.get().snapshot();
+        if (exchanges.isEmpty()) {
+            return;
+        }
+        try {
+            writer.execute(() -> logger.warn("Last {} HTTP exchanges before {}:\n{}", exchanges.size(), reason, format(exchanges)));
+        } catch (RejectedExecutionException e) {
+            droppedDumps.increment();
+        }
+    }
+
+    /**
+     * Waits until all queued dumps are logged
+     */
+    public void flush() {
+        try {
+            writer.submit(() -> { }).get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Could not flush captured exchanges: {}", e.getMessage());
+        }
+        if (droppedDumps.sum() > 0) {
+            logger.warn("Dropped {} exchange dumps because the log queue was full", droppedDumps.sum());
+        }
+    }
+
+    private static String format(List<Exchange> exchanges) {
+        StringBuilder out = new StringBuilder();
+        int number = 1;
+        for (Exchange exchange : exchanges) {
+            out.append("--- ").append(number++).append('/').append(exchanges.size())
+                    .append(" at ").append(exchange.time).append(" (").append(exchange.durationMillis).append(" ms)\n")
+                    .append(exchange.method).append(' ').append(exchange.uri).append('\n')
+                    .append(exchange.requestHeaders).append('\n');
+            if (exchange.requestBody != null) {
+                out.append(truncate(String.valueOf(exchange.requestBody))).append('\n');
+            } else if (exchange.formParams != null && !exchange.formParams.isEmpty()) {
+                out.append(exchange.formParams).append('\n');
+            }
+            out.append("<- ").append(exchange.response.getStatusLine()).append('\n')
+                    .append(exchange.response.getHeaders()).append('\n')
+                    .append(truncate(exchange.response.asString())).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String truncate(String text) {
+        return text.length() <= MAX_BODY_LENGTH ? text
+                : text.substring(0, MAX_BODY_LENGTH) + "... (" + (text.length() - MAX_BODY_LENGTH) + " more characters)";
+    }
+}
@@ -0,0 +1,196 @@
+package com.orangehrm.api.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * JVM-wide cache of authenticated sessions keyed by base URL and username.
+ * Concurrent callers for the same key share a single in-flight login, and cached
+ * sessions are revalidated periodically before being handed out again.
+ */
+public class SessionCache {
+    private static final Logger logger = LoggerFactory.getLogger(SessionCache.class);
+
+    private static final SessionCache INSTANCE = new SessionCache(
+            Duration.ofSeconds(Long.getLong("auth.session.ttl", 1800)),
+            Duration.ofSeconds(Long.getLong("auth.session.idle", 600)),
+            Duration.ofSeconds(Long.getLong("auth.session.revalidate", 120)));
+
+    private final ConcurrentMap<String, CompletableFuture<Session>> sessions = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final long idleNanos;
+    private final long revalidateNanos;
+
+    /**
+     * Creates a session cache
+     *
+     * @param ttl Maximum age of a session before a fresh login is forced
+     * @param idle Maximum time a session may go unused before a fresh login is forced
+     * @param revalidateAfter Time after which a session is checked against the server before reuse
+     */
+    public SessionCache(Duration ttl, Duration idle, Duration revalidateAfter) {
+        this.ttlNanos = ttl.toNanos();
+        this.idleNanos = idle.toNanos();
+        this.revalidateNanos = revalidateAfter.toNanos();
+    }
+
+    /**
+     * Returns the shared cache configured through the auth.session.* system properties
+     *
+     * @return The JVM-wide session cache
+     */
+    public static SessionCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a cached session for the given key, logging in if there is none
+     *
+     * @param baseUrl The base URL the session belongs to
+     * @param username The username the session belongs to
+     * @param login Performs a full login, only invoked by one caller per key at a time
+     * @param revalidator Checks a cached session against the server, returning the refreshed
+     *                    result or null if the session is no longer valid
+     * @return The authentication result
+     */
+    public AuthenticationUtil.AuthResult get(String baseUrl, String username,
+                                             Supplier<AuthenticationUtil.AuthResult> login,
+                                             UnaryOperator<AuthenticationUtil.AuthResult> revalidator) {
+        String key = baseUrl + "|" + username;
+
+        while (true) {
+            CompletableFuture<Session> future = sessions.get(key);
+
+            if (future == null) {
+                CompletableFuture<Session> created = new CompletableFuture<>();
+                future = sessions.putIfAbsent(key, created);
+
+                if (future == null) {
+                    // This caller won the race and performs the login for everyone waiting on the key
+                    return login(key, created, login);
+                }
+            }
+
+            Session session = await(future);
+            long now = System.nanoTime();
+
+            if (session.isExpired(now, ttlNanos, idleNanos)) {
+                logger.info("Cached session for {} expired, logging in again", key);
+                sessions.remove(key, future);
+                continue;
+            }
+
+            if (!revalidate(session, now, revalidator)) {
+                logger.info("Cached session for {} was rejected by the server, logging in again", key);
+                sessions.remove(key, future);
+                continue;
+            }
+
+            return session.touch(now);
+        }
+    }
+
+    /**
+     * Drops the cached session for the given key so the next caller logs in again
+     *
+     * @param baseUrl The base URL the session belongs to
+     * @param username The username the session belongs to
+     */
+    public void invalidate(String baseUrl, String username) {
+        sessions.remove(baseUrl + "|" + username);
+    }
+
+    /**
+     * Drops all cached sessions
+     */
+    public void clear() {
+        sessions.clear();
+    }
+
+    private AuthenticationUtil.AuthResult login(String key, CompletableFuture<Session> created,
+                                                Supplier<AuthenticationUtil.AuthResult> login) {
+        logger.info("No cached session for {}, logging in", key);
+        try {
+            Session session = new Session(login.get(), System.nanoTime());
+            created.complete(session);
+            return session.result;
+        } catch (Throwable e) {
+            // Do not cache failures, the next caller should get a fresh attempt. Errors are caught too,
+            // an incomplete future would leave every caller waiting on the key hanging forever
+            sessions.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private boolean revalidate(Session session, long now,
+                               UnaryOperator<AuthenticationUtil.AuthResult> revalidator) {
+        if (now - session.lastValidated < revalidateNanos) {
+            return true;
+        }
+
+        synchronized (session) {
+            // Another caller may have revalidated while we were waiting for the lock
+            if (now - session.lastValidated < revalidateNanos) {
+                return true;
+            }
+
+            AuthenticationUtil.AuthResult refreshed = revalidator.apply(session.result);
+            if (refreshed == null) {
+                return false;
+            }
+
+            session.result = refreshed;
+            session.lastValidated = System.nanoTime();
+            return true;
+        }
+    }
+
+    private static Session await(CompletableFuture<Session> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A cached authentication result with its bookkeeping timestamps
+     */
+    private static class Session {
+        private final long createdAt;
+        private volatile AuthenticationUtil.AuthResult result;
+        private volatile long lastValidated;
+        private volatile long lastAccess;
+
+        Session(AuthenticationUtil.AuthResult result, long now) {
+            this.result = result;
+            this.createdAt = now;
+            this.lastValidated = now;
+            this.lastAccess = now;
+        }
+
+        boolean isExpired(long now, long ttlNanos, long idleNanos) {
+            return now - createdAt >= ttlNanos || now - lastAccess >= idleNanos;
+        }
+
+        AuthenticationUtil.AuthResult touch(long now) {
+            lastAccess = now;
+            return result;
+        }
+    }
+}
@@ -1,14 +1,12 @@
 package com.orangehrm.api.util;
 
-import java.util.Random;
-import java.util.UUID;
+import com.orangehrm.commons.UniqueIds;
 
 /**
- * Utility class for generating random test data
+ * Utility class for generating random test data.
+ * Usernames are unique across threads and parallel runs, see {@link UniqueIds}.
  */
 public class TestDataGenerator {
-    private static final Random random = new Random();
-    
     /**
      * Generates a random username with a prefix
      * 
@@ -16,7 +14,7 @@ public class TestDataGenerator {
      * @return A random username
      */
     public static String generateUsername(String prefix) {
-        return prefix + "_" + UUID.randomUUID().toString().substring(0, 8);
+        return prefix + "_" + UniqueIds.next();
     }
     
     /**
@@ -35,13 +33,14 @@ public class TestDataGenerator {
      */
     public static String generatePassword() {
         // Password must contain at least one uppercase letter, one lowercase letter, one number, and one special character
-        return "Test" + random.nextInt(1000) + "!" + UUID.randomUUID().toString().substring(0, 8);
+        return "Test" + UniqueIds.random().nextInt(1000) + "!" + UniqueIds.randomToken(8);
     }
     
     /**
-     * Generates a random employee number
+     * Returns a known employee number, for code running outside the test suite.
+     * Tests lease a pre-provisioned employee from the fixture pool instead.
      * 
-     * @return A random employee number
+     * @return A known employee number
      */
     public static int generateEmployeeNumber() {
         // Using a known employee number from the system
@@ -1,42 +1,198 @@
 package com.orangehrm.api;
 
+import com.orangehrm.api.client.BulkUserProvisioner;
+import com.orangehrm.api.client.EmployeeApiClient;
+import com.orangehrm.api.client.UserApiClient;
+import com.orangehrm.api.client.UserRegistry;
 import com.orangehrm.api.config.ApiConfig;
+import com.orangehrm.api.fixture.Fixture;
+import com.orangehrm.api.fixture.FixturePool;
+import com.orangehrm.api.metrics.HttpMetrics;
+import com.orangehrm.api.metrics.MetricsFilter;
+import com.orangehrm.api.stub.StubServer;
 import com.orangehrm.api.util.AuthenticationUtil;
+import com.orangehrm.api.util.ExchangeCapture;
 import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
-import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * Base class for API tests
+ * Base class for API tests.
+ * Authentication state and request specifications are kept per thread so test
+ * methods can run with parallel="methods".
  */
 public class BaseApiTest {
     protected static final Logger logger = LoggerFactory.getLogger(BaseApiTest.class);
-    protected RequestSpecification requestSpec;
-    protected String sessionCookie;
-    protected String csrfToken;
+    private static StubServer stubServer;
+    private static FixturePool fixturePool;
+    private final ThreadLocal<AuthenticationUtil.AuthResult> authResult = new ThreadLocal<>();
+    private final ThreadLocal<RequestSpecification> requestSpec = new ThreadLocal<>();
+    private final ThreadLocal<List<Fixture>> leasedFixtures = ThreadLocal.withInitial(ArrayList::new);
+    
+    @BeforeSuite
+    public void startStubServer() throws IOException {
+        // Run against the embedded stand-in instead of the demo site when -Dapi.stub=true
+        if (ApiConfig.USE_STUB && stubServer == null) {
+            stubServer = StubServer.fromSystemProperties(ApiConfig.STUB_PORT);
+            stubServer.start();
+        }
+    }
+    
+    @BeforeSuite(dependsOnMethods = "startStubServer")
+    public void fillFixturePool() {
+        // Employees and users for the whole suite are created up front and leased per test
+        if (fixturePool == null) {
+            fixturePool = FixturePool.fromSystemProperties(ApiConfig.BASE_URL,
+                    UserApiClient.withDefaultCredentials(), EmployeeApiClient.withDefaultCredentials());
+            fixturePool.fill();
+        }
+    }
+    
+    @AfterSuite(alwaysRun = true)
+    public void closeFixturePool() {
+        if (fixturePool != null) {
+            fixturePool.close();
+            fixturePool = null;
+        }
+    }
+    
+    @AfterSuite(alwaysRun = true, dependsOnMethods = "closeFixturePool")
+    public void reapCreatedUsers() {
+        // Deletes the users tests left behind, including those of earlier runs that crashed
+        UserApiClient client = UserApiClient.withDefaultCredentials();
+        try (BulkUserProvisioner provisioner = BulkUserProvisioner.fromSystemProperties(client)) {
+            UserRegistry.getInstance().reap(ApiConfig.BASE_URL, client, provisioner);
+        }
+    }
+    
+    @AfterSuite(alwaysRun = true)
+    public void exportHttpMetrics() throws IOException {
+        // Percentiles per endpoint, recorded by MetricsFilter across all threads
+        HttpMetrics metrics = HttpMetrics.getInstance();
+        if (!metrics.getEndpoints().isEmpty()) {
+            logger.info("HTTP latency in ms:\n{}", metrics.formatSummary());
+            metrics.export(Paths.get(System.getProperty("api.metrics.output", "target/api-metrics.json")));
+        }
+    }
+    
+    @AfterSuite(alwaysRun = true)
+    public void flushExchangeCapture() {
+        ExchangeCapture.getInstance().flush();
+    }
+    
+    @AfterSuite(alwaysRun = true, dependsOnMethods = "reapCreatedUsers")
+    public void stopStubServer() {
+        if (stubServer != null) {
+            stubServer.stop();
+            stubServer = null;
+        }
+    }
     
     @BeforeClass
     public void setupClass() {
         // Configure REST Assured
         RestAssured.baseURI = ApiConfig.BASE_URL;
+    }
+    
+    @BeforeMethod
+    public void setupMethod() {
+        logger.info("Starting test method");
+        ExchangeCapture.getInstance().clear();
         
-        // Authenticate and get session cookie and CSRF token
-        AuthenticationUtil.AuthResult authResult = AuthenticationUtil.authenticateWithDefaultCredentials();
-        sessionCookie = authResult.getSessionCookie();
-        csrfToken = authResult.getCsrfToken();
+        // The session comes from the JVM-wide cache, so this is cheap after the first login.
+        // The specification is only rebuilt when the cache hands out a refreshed session.
+        AuthenticationUtil.AuthResult current = AuthenticationUtil.authenticateWithDefaultCredentials();
+        if (current != authResult.get()) {
+            authResult.set(current);
+            requestSpec.set(buildRequestSpec(current));
+        }
+    }
+    
+    @AfterMethod(alwaysRun = true)
+    public void dumpExchangesOnFailure(ITestResult result) {
+        // Requests are only logged when something went wrong; a skip here means the login in setupMethod failed
+        if (result.getStatus() == ITestResult.FAILURE || result.getStatus() == ITestResult.SKIP) {
+            ExchangeCapture.getInstance().dump(result.getMethod().getQualifiedName());
+        }
+    }
+    
+    @AfterMethod(alwaysRun = true)
+    public void releaseFixtures() {
+        for (Fixture fixture : leasedFixtures.get()) {
+            fixturePool.release(fixture);
+        }
+        leasedFixtures.get().clear();
+    }
+    
+    /**
+     * Leases a pre-provisioned employee and user, returned to the pool after the test method
+     * 
+     * @return The fixture, exclusive to the current test until it finishes
+     */
+    protected Fixture leaseFixture() {
+        Fixture fixture = fixturePool.lease();
+        leasedFixtures.get().add(fixture);
+        return fixture;
+    }
+    
+    /**
+     * Keeps a leased fixture out of the pool for good, e.g. after the test deleted its user
+     * 
+     * @param fixture The fixture leased by the current test
+     */
+    protected void discardFixture(Fixture fixture) {
+        leasedFixtures.get().remove(fixture);
+        fixturePool.discard(fixture);
+    }
+    
+    /**
+     * @return The request specification authenticated for the current thread
+     */
+    protected RequestSpecification requestSpec() {
+        return requestSpec.get();
+    }
+    
+    /**
+     * @return The session cookie used by the current thread
+     */
+    protected String sessionCookie() {
+        return authResult.get().getSessionCookie();
+    }
+    
+    /**
+     * @return The CSRF token used by the current thread
+     */
+    protected String csrfToken() {
+        return authResult.get().getCsrfToken();
+    }
+    
+    private RequestSpecification buildRequestSpec(AuthenticationUtil.AuthResult auth) {
+        String sessionCookie = auth.getSessionCookie();
+        String csrfToken = auth.getCsrfToken();
         
         logger.info("Session cookie obtained: {}", sessionCookie);
         logger.info("CSRF token obtained: {}", csrfToken);
         
-        // Create base request specification
+        // Create base request specification, merging the metrics specification first as UserApiClient does:
+        // it carries REST Assured's global base URI and port, which would otherwise override ours
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder()
+                .addRequestSpecification(MetricsFilter.requestSpec())
+                .setBaseUri(ApiConfig.BASE_URL)
                 .setContentType(ContentType.JSON)
                 .setAccept(ContentType.JSON)
                 .addCookie("orangehrm", sessionCookie)
@@ -44,18 +200,14 @@ public class BaseApiTest {
                 .addHeader("Origin", ApiConfig.BASE_URL)
                 .addHeader("Referer", ApiConfig.BASE_URL + ApiConfig.DASHBOARD_ENDPOINT)
                 .addFilter(new AllureRestAssured())
-                .log(LogDetail.ALL);
+                .addFilter(ExchangeCapture.getInstance())
+                .addFilter(UserRegistry.getInstance());
         
         // Add CSRF token if available
         if (csrfToken != null && !csrfToken.isEmpty()) {
             requestSpecBuilder.addHeader("X-CSRF-Token", csrfToken);
         }
         
-        requestSpec = requestSpecBuilder.build();
-    }
-    
-    @BeforeMethod
-    public void setupMethod() {
-        logger.info("Starting test method");
+        return requestSpecBuilder.build();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package com.orangehrm.api;
+
+import com.orangehrm.api.client.BulkUserProvisioner;
+import com.orangehrm.api.client.UserApiClient;
+import com.orangehrm.api.model.User;
+import com.orangehrm.api.util.TestDataGenerator;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+
+/**
+ * Test class for bulk user provisioning via API
+ */
+@Feature("User Management API")
+public class BulkUserProvisioningApiTest extends BaseApiTest {
+    
+    @Test
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to create users concurrently and delete them in batches via API")
+    @Story("Bulk Provisioning")
+    public void testBulkCreateAndDeleteUsers() {
+        int count = Integer.getInteger("provision.count", 20);
+        int empNumber = leaseFixture().getEmpNumber();
+        
+        try (BulkUserProvisioner provisioner =
+                     BulkUserProvisioner.fromSystemProperties(UserApiClient.withDefaultCredentials())) {
+            BulkUserProvisioner.Result created = provisioner.createUsers(count, i -> new User(
+                    TestDataGenerator.generateUsername(), TestDataGenerator.generatePassword(),
+                    true, 2, empNumber));
+            
+            // Delete before asserting so a partial failure does not leave users behind
+            BulkUserProvisioner.Result deleted = provisioner.deleteUsers(created.getIds());
+            
+            Assert.assertTrue(created.isSuccessful(), "All users should be created: " + created.getFailures());
+            Assert.assertEquals(created.getIds().size(), count, "Created user count should match");
+            Assert.assertTrue(deleted.isSuccessful(), "All users should be deleted: " + deleted.getFailures());
+            Assert.assertEquals(new HashSet<>(deleted.getIds()), new HashSet<>(created.getIds()),
+                    "Deleted IDs should match the created IDs");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.orangehrm.api;
+
+import com.orangehrm.api.client.BulkUserProvisioner;
+import com.orangehrm.api.client.UserApiClient;
+import com.orangehrm.api.client.UserIndex;
+import com.orangehrm.api.client.UserListCrawler;
+import com.orangehrm.api.model.User;
+import com.orangehrm.api.util.TestDataGenerator;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Test class for indexing the users list via API
+ */
+@Feature("User Management API")
+public class UserListCrawlerApiTest extends BaseApiTest {
+    
+    @Test
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test to index all users across pages and clean up users by username prefix via API")
+    @Story("User List")
+    public void testCrawlUsersAndCleanUpByPrefix() {
+        // More users than the default page size, so the list spans several pages
+        int count = 60;
+        int empNumber = leaseFixture().getEmpNumber();
+        String prefix = TestDataGenerator.generateUsername("crawl") + "_";
+        UserApiClient client = UserApiClient.withDefaultCredentials();
+        
+        try (BulkUserProvisioner provisioner = BulkUserProvisioner.fromSystemProperties(client);
+             UserListCrawler crawler = UserListCrawler.fromSystemProperties(client)) {
+            BulkUserProvisioner.Result created = provisioner.createUsers(count, i -> new User(
+                    prefix + i, TestDataGenerator.generatePassword(),
+                    true, 2, empNumber));
+            Assert.assertTrue(created.isSuccessful(), "All users should be created: " + created.getFailures());
+            
+            // Other tests delete users while the pages are read, which can shift a user past a page
+            // boundary, so the crawl looks up any of ours it missed
+            List<String> usernames = IntStream.range(0, count).mapToObj(i -> prefix + i).collect(Collectors.toList());
+            UserIndex index = crawler.crawl(usernames);
+            int[] indexedIds = index.idsWithPrefix(prefix);
+            
+            // Clean up through the index before asserting, so a failed lookup still removes the users
+            BulkUserProvisioner.Result deleted = provisioner.deleteUsers(
+                    Arrays.stream(indexedIds).boxed().collect(Collectors.toList()));
+            
+            Assert.assertTrue(deleted.isSuccessful(), "All indexed users should be deleted: " + deleted.getFailures());
+            Assert.assertEquals(Arrays.stream(indexedIds).boxed().collect(Collectors.toSet()),
+                    new HashSet<>(created.getIds()), "Indexed IDs for the prefix should match the created IDs");
+            List<Integer> createdIds = created.getIds();
+            for (int i = 0; i < count; i++) {
+                OptionalInt id = index.idOf(prefix + i);
+                Assert.assertTrue(id.isPresent(), "User " + prefix + i + " should be indexed");
+                Assert.assertTrue(createdIds.contains(id.getAsInt()), "User " + prefix + i + " should map to a created ID");
+            }
+            Assert.assertEquals(crawler.crawl(usernames).idsWithPrefix(prefix).length, 0, "No users should be left after cleanup");
+        }
+    }
+}
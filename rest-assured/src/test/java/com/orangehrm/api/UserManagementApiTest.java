@@ -1,6 +1,7 @@
 package com.orangehrm.api;
 
 import com.orangehrm.api.config.ApiConfig;
+import com.orangehrm.api.fixture.Fixture;
 import com.orangehrm.api.model.DeleteUserRequest;
 import com.orangehrm.api.model.User;
 import com.orangehrm.api.util.TestDataGenerator;
@@ -12,26 +13,24 @@ import io.qameta.allure.Story;
 import io.restassured.RestAssured;
 import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.Test;
 
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
 
 import static io.restassured.RestAssured.given;
 
 /**
- * Test class for User Management API
+ * Test class for User Management API.
+ * Every test method owns its create-delete lifecycle, so methods can run in parallel.
  */
 @Feature("User Management API")
 public class UserManagementApiTest extends BaseApiTest {
     
-    private int createdUserId;
+    // Users created by the current thread that still need to be deleted
+    private final ThreadLocal<List<Integer>> createdUserIds = ThreadLocal.withInitial(ArrayList::new);
     
     @Test(priority = 1)
     @Severity(SeverityLevel.CRITICAL)
@@ -41,34 +40,25 @@ public class UserManagementApiTest extends BaseApiTest {
         // Generate random test data
         String username = TestDataGenerator.generateUsername();
         String password = TestDataGenerator.generatePassword();
-        int empNumber = TestDataGenerator.generateEmployeeNumber();
+        int empNumber = leaseFixture().getEmpNumber();
         
         // Create user object
         User user = new User(username, password, true, 1, empNumber);
         logger.info("Creating user: {}", user);
         
         // Log the CSRF token being used
-        logger.info("Using CSRF token: {}", csrfToken);
-        logger.info("Using session cookie: {}", sessionCookie);
+        logger.info("Using CSRF token: {}", csrfToken());
+        logger.info("Using session cookie: {}", sessionCookie());
         
         // Send request to create user
-        Response response = RestAssured.given()
-                .spec(requestSpec)
-                .body(user)
-                .log().all() // Log the full request
-                .post(ApiConfig.USERS_ENDPOINT);
-        
-        // Log the response for debugging
-        logger.info("Response status code: {}", response.getStatusCode());
-        logger.info("Response body: {}", response.getBody().asString());
-        logger.info("Response headers: {}", response.getHeaders());
+        Response response = createUser(user);
         
         // Verify response
         Assert.assertEquals(response.getStatusCode(), 200, "Expected status code 200");
         
         // Parse response
         JsonPath jsonPath = response.jsonPath();
-        createdUserId = jsonPath.getInt("data.id");
+        int createdUserId = jsonPath.getInt("data.id");
         String createdUsername = jsonPath.getString("data.userName");
         
         // Verify user was created correctly
@@ -78,41 +68,70 @@ public class UserManagementApiTest extends BaseApiTest {
         logger.info("User created successfully with ID: {}", createdUserId);
     }
     
-    @Test(priority = 2, dependsOnMethods = "testCreateUser")
+    @Test(priority = 2)
     @Severity(SeverityLevel.CRITICAL)
     @Description("Test to delete a user via API")
     @Story("Delete User")
     public void testDeleteUser() {
-        logger.info("Starting test method");
-        logger.info("Deleting user with ID: " + createdUserId);
+        // Delete a pre-provisioned user, this test does not rely on state from other tests
+        Fixture fixture = leaseFixture();
+        int userId = fixture.getUserId();
         
-        // Create request body with user ID to delete
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("ids", Collections.singletonList(createdUserId));
+        logger.info("Deleting user with ID: " + userId);
         
         // Send DELETE request
-        Response response = given()
-                .spec(requestSpec)
-                .body(requestBody)
-                .when()
-                .delete(ApiConfig.USERS_ENDPOINT)
-                .then()
-                .extract()
-                .response();
-        
-        logger.info("Response status code: " + response.getStatusCode());
-        logger.info("Response body: " + response.getBody().asString());
-        logger.info("Response headers: " + response.getHeaders());
+        Response response = deleteUsers(userId);
         
         // Verify response
         Assert.assertEquals(response.getStatusCode(), 200, "Status code should be 200");
+        discardFixture(fixture);
         
         // Extract response data
         JsonPath jsonPath = response.jsonPath();
         
         // Check if the deleted user ID is in the response data array
         List<String> deletedIds = jsonPath.getList("data", String.class);
-        Assert.assertTrue(deletedIds.contains(String.valueOf(createdUserId)), 
-                "Response should contain the deleted user ID: " + createdUserId);
+        Assert.assertTrue(deletedIds.contains(String.valueOf(userId)), 
+                "Response should contain the deleted user ID: " + userId);
+    }
+    
+    @AfterMethod(alwaysRun = true)
+    public void deleteCreatedUsers() {
+        List<Integer> userIds = createdUserIds.get();
+        if (userIds.isEmpty()) {
+            return;
+        }
+        
+        int[] ids = userIds.stream().mapToInt(Integer::intValue).toArray();
+        Response response = deleteUsers(ids);
+        logger.info("Cleaned up users {} with status code: {}", userIds, response.getStatusCode());
+        userIds.clear();
+    }
+    
+    /**
+     * Creates a user and registers it for deletion after the current test method
+     */
+    private Response createUser(User user) {
+        Response response = RestAssured.given()
+                .spec(requestSpec())
+                .body(user)
+                .post(ApiConfig.USERS_ENDPOINT);
+        
+        if (response.getStatusCode() == 200) {
+            createdUserIds.get().add(response.jsonPath().getInt("data.id"));
+        }
+        return response;
+    }
+    
+    private Response deleteUsers(int... ids) {
+        Response response = given()
+                .spec(requestSpec())
+                .body(new DeleteUserRequest(ids))
+                .when()
+                .delete(ApiConfig.USERS_ENDPOINT)
+                .then()
+                .extract()
+                .response();
+        return response;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+package com.orangehrm.api.client;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Test class for parsing users list pages and merging them into an index, no API calls involved
+ */
+public class UserListCrawlerTest {
+    
+    @Test
+    public void testParsePageReadsUsernamesIdsAndTotal() throws IOException {
+        UserIndex.Page page = new UserIndex.Page(2);
+        int total = UserListCrawler.parsePage(body("{\"data\":["
+                + "{\"id\":7,\"userName\":\"alice\",\"userRole\":{\"id\":1,\"name\":\"Admin\"},\"status\":true},"
+                + "{\"userName\":\"bob\",\"employee\":{\"empNumber\":3,\"terminationId\":null},\"id\":9},"
+                + "{\"id\":11,\"userName\":\"carol\",\"tags\":[1,[2,3],{\"a\":\"b\"}]}"
+                + "],\"meta\":{\"total\":42,\"extra\":{\"nested\":[1]}},\"rels\":[]}"), page);
+        
+        Assert.assertEquals(total, 42);
+        Assert.assertEquals(page.size(), 3, "The page should grow past its capacity");
+        UserIndex index = UserIndex.of(List.of(page));
+        Assert.assertEquals(index.idOf("alice"), OptionalInt.of(7));
+        Assert.assertEquals(index.idOf("bob"), OptionalInt.of(9));
+        Assert.assertEquals(index.idOf("carol"), OptionalInt.of(11));
+    }
+    
+    @Test
+    public void testParsePageSkipsUsersWithoutIdOrUsername() throws IOException {
+        UserIndex.Page page = new UserIndex.Page(4);
+        UserListCrawler.parsePage(body("{\"meta\":{\"total\":3},\"data\":["
+                + "{\"userName\":\"no_id\"},{\"id\":5},{\"id\":6,\"userName\":\"dave\"}]}"), page);
+        
+        Assert.assertEquals(page.size(), 1);
+        Assert.assertEquals(UserIndex.of(List.of(page)).idOf("dave"), OptionalInt.of(6));
+    }
+    
+    @Test
+    public void testParsePageRejectsResponsesWithoutTotal() {
+        Assert.assertThrows(IOException.class,
+                () -> UserListCrawler.parsePage(body("{\"data\":[]}"), new UserIndex.Page(1)));
+        Assert.assertThrows(IOException.class,
+                () -> UserListCrawler.parsePage(body("[]"), new UserIndex.Page(1)));
+    }
+    
+    @Test
+    public void testIndexSortsAcrossPagesAndFindsPrefixes() {
+        UserIndex index = UserIndex.of(List.of(
+                page("testuser_b", 2, "admin", 1),
+                page("testuser_a", 3, "zed", 4, "testuser_c", 5)));
+        
+        Assert.assertEquals(index.size(), 5);
+        Assert.assertEquals(index.idsWithPrefix("testuser_"), new int[]{3, 2, 5});
+        Assert.assertEquals(index.idsWithPrefix("nobody"), new int[0]);
+        Assert.assertEquals(index.ids(), new int[]{1, 3, 2, 5, 4});
+        Assert.assertTrue(index.contains("zed"));
+        Assert.assertFalse(index.idOf("testuser").isPresent());
+    }
+    
+    @Test
+    public void testIndexKeepsTheIdOfTheLastPageForDuplicateUsernames() {
+        // The table changed between pages, or a missed user was looked up afterwards
+        UserIndex index = UserIndex.of(List.of(page("alice", 1, "bob", 2), page("alice", 10)));
+        
+        Assert.assertEquals(index.size(), 2);
+        Assert.assertEquals(index.idOf("alice"), OptionalInt.of(10));
+        Assert.assertEquals(index.idOf("bob"), OptionalInt.of(2));
+    }
+    
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static UserIndex.Page page(Object... usernamesAndIds) {
+        UserIndex.Page page = new UserIndex.Page(1);
+        for (int i = 0; i < usernamesAndIds.length; i += 2) {
+            page.add((String) usernamesAndIds[i], (Integer) usernamesAndIds[i + 1]);
+        }
+        return page;
+    }
+}
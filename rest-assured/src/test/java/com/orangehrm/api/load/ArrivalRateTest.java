@@ -0,0 +1,79 @@
+package com.orangehrm.api.load;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+/**
+ * Test class for the request schedule of the load generator, no API calls involved
+ */
+public class ArrivalRateTest {
+    // Offsets are truncated to whole nanoseconds
+    private static final double TOLERANCE_NANOS = 1_000;
+    
+    @Test
+    public void testConstantRateSpacesArrivalsEvenly() {
+        ArrivalRate rate = ArrivalRate.constant(10);
+        
+        Assert.assertEquals(rate.offsetNanos(0), 0);
+        Assert.assertEquals(rate.offsetNanos(1), 100_000_000, TOLERANCE_NANOS);
+        Assert.assertEquals(rate.offsetNanos(10), 1_000_000_000, TOLERANCE_NANOS);
+        Assert.assertEquals(rate.offsetNanos(25), 2_500_000_000L, TOLERANCE_NANOS);
+    }
+    
+    @Test
+    public void testRampFromZeroFollowsTheIntegratedRate() {
+        // 0 to 10/s over 10 s: n arrivals after t seconds is t^2 / 2, 50 arrivals in the ramp
+        ArrivalRate rate = ArrivalRate.ramp(0, 10, Duration.ofSeconds(10));
+        
+        Assert.assertEquals(rate.offsetNanos(0), 0);
+        Assert.assertEquals(rate.offsetNanos(2), 2_000_000_000L, TOLERANCE_NANOS);
+        Assert.assertEquals(rate.offsetNanos(8), 4_000_000_000L, TOLERANCE_NANOS);
+        Assert.assertEquals(rate.offsetNanos(50), 10_000_000_000L, TOLERANCE_NANOS);
+        // The target rate holds after the ramp
+        Assert.assertEquals(rate.offsetNanos(60), 11_000_000_000L, TOLERANCE_NANOS);
+    }
+    
+    @Test
+    public void testRampDownFollowsTheIntegratedRate() {
+        // 20 to 10/s over 10 s: n arrivals after t seconds is 20t - t^2 / 2, 150 arrivals in the ramp
+        ArrivalRate rate = ArrivalRate.ramp(20, 10, Duration.ofSeconds(10));
+        
+        Assert.assertEquals(rate.offsetNanos(75), (20 - Math.sqrt(250)) * 1e9, TOLERANCE_NANOS);
+        Assert.assertEquals(rate.offsetNanos(150), 10_000_000_000L, TOLERANCE_NANOS);
+        Assert.assertEquals(rate.offsetNanos(160), 11_000_000_000L, TOLERANCE_NANOS);
+    }
+    
+    @Test
+    public void testFlatRampMatchesConstantRate() {
+        ArrivalRate ramp = ArrivalRate.ramp(5, 5, Duration.ofSeconds(10));
+        ArrivalRate constant = ArrivalRate.constant(5);
+        
+        for (long n = 0; n < 100; n++) {
+            Assert.assertEquals(ramp.offsetNanos(n), constant.offsetNanos(n), TOLERANCE_NANOS, "Offset of arrival " + n);
+        }
+    }
+    
+    @Test
+    public void testOffsetsIncreaseAcrossTheEndOfTheRamp() {
+        for (ArrivalRate rate : new ArrivalRate[]{
+                ArrivalRate.ramp(0, 50, Duration.ofSeconds(4)),
+                ArrivalRate.ramp(20, 10, Duration.ofSeconds(10)),
+                ArrivalRate.ramp(1, 1000, Duration.ofMillis(1500))}) {
+            long previous = -1;
+            for (long n = 0; n < 2_000; n++) {
+                long offset = rate.offsetNanos(n);
+                Assert.assertTrue(offset > previous, rate + ": arrival " + n + " at " + offset + " ns is not after " + previous + " ns");
+                previous = offset;
+            }
+        }
+    }
+    
+    @Test
+    public void testInvalidRatesAreRejected() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> ArrivalRate.constant(0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ArrivalRate.ramp(-1, 10, Duration.ofSeconds(1)));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ArrivalRate.ramp(1, 10, Duration.ofSeconds(-1)));
+    }
+}
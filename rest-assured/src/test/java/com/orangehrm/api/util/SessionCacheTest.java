@@ -0,0 +1,161 @@
+package com.orangehrm.api.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Test class for the session cache with a fake login, no API calls involved
+ */
+public class SessionCacheTest {
+    private static final String BASE_URL = "http://localhost";
+    private static final Duration LONG = Duration.ofHours(1);
+    private static final UnaryOperator<AuthenticationUtil.AuthResult> STILL_VALID = result -> result;
+    
+    @Test
+    public void testConcurrentCallersShareOneLogin() throws Exception {
+        SessionCache cache = new SessionCache(LONG, LONG, LONG);
+        AtomicInteger logins = new AtomicInteger();
+        CountDownLatch loginStarted = new CountDownLatch(1);
+        CountDownLatch finishLogin = new CountDownLatch(1);
+        Supplier<AuthenticationUtil.AuthResult> login = () -> {
+            loginStarted.countDown();
+            await(finishLogin);
+            return new AuthenticationUtil.AuthResult("session-" + logins.incrementAndGet(), "token");
+        };
+        
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<AuthenticationUtil.AuthResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get(BASE_URL, "admin", login, STILL_VALID)));
+            }
+            Assert.assertTrue(loginStarted.await(5, TimeUnit.SECONDS), "One caller should log in");
+            // Give the other callers time to queue up behind the login in flight
+            Thread.sleep(100);
+            finishLogin.countDown();
+            
+            for (Future<AuthenticationUtil.AuthResult> result : results) {
+                Assert.assertEquals(result.get(5, TimeUnit.SECONDS).getSessionCookie(), "session-1");
+            }
+            Assert.assertEquals(logins.get(), 1, "Only one login should run for the key");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    public void testKeysAreSeparatedByBaseUrlAndUsername() {
+        SessionCache cache = new SessionCache(LONG, LONG, LONG);
+        AtomicInteger logins = new AtomicInteger();
+        Supplier<AuthenticationUtil.AuthResult> login = countingLogin(logins);
+        
+        cache.get(BASE_URL, "admin", login, STILL_VALID);
+        cache.get(BASE_URL, "other", login, STILL_VALID);
+        cache.get("http://elsewhere", "admin", login, STILL_VALID);
+        cache.get(BASE_URL, "admin", login, STILL_VALID);
+        
+        Assert.assertEquals(logins.get(), 3);
+    }
+    
+    @Test
+    public void testSessionPastItsTtlLogsInAgain() throws InterruptedException {
+        SessionCache cache = new SessionCache(Duration.ofMillis(200), LONG, LONG);
+        AtomicInteger logins = new AtomicInteger();
+        Supplier<AuthenticationUtil.AuthResult> login = countingLogin(logins);
+        
+        Assert.assertEquals(cache.get(BASE_URL, "admin", login, STILL_VALID).getSessionCookie(), "session-1");
+        // Use within the TTL does not extend it
+        Thread.sleep(120);
+        Assert.assertEquals(cache.get(BASE_URL, "admin", login, STILL_VALID).getSessionCookie(), "session-1");
+        Thread.sleep(120);
+        Assert.assertEquals(cache.get(BASE_URL, "admin", login, STILL_VALID).getSessionCookie(), "session-2");
+    }
+    
+    @Test
+    public void testIdleSessionLogsInAgainButUseKeepsItAlive() throws InterruptedException {
+        SessionCache cache = new SessionCache(LONG, Duration.ofMillis(200), LONG);
+        AtomicInteger logins = new AtomicInteger();
+        Supplier<AuthenticationUtil.AuthResult> login = countingLogin(logins);
+        
+        cache.get(BASE_URL, "admin", login, STILL_VALID);
+        for (int i = 0; i < 3; i++) {
+            Thread.sleep(100);
+            Assert.assertEquals(cache.get(BASE_URL, "admin", login, STILL_VALID).getSessionCookie(), "session-1",
+                    "A session used within the idle time should be kept");
+        }
+        Thread.sleep(300);
+        Assert.assertEquals(cache.get(BASE_URL, "admin", login, STILL_VALID).getSessionCookie(), "session-2");
+    }
+    
+    @Test
+    public void testRejectedSessionLogsInAgain() {
+        SessionCache cache = new SessionCache(LONG, LONG, Duration.ZERO);
+        AtomicInteger logins = new AtomicInteger();
+        Supplier<AuthenticationUtil.AuthResult> login = countingLogin(logins);
+        
+        cache.get(BASE_URL, "admin", login, STILL_VALID);
+        Assert.assertEquals(cache.get(BASE_URL, "admin", login, result -> null).getSessionCookie(), "session-2");
+    }
+    
+    @Test
+    public void testFailedLoginIsNotCachedAndReleasesWaiters() throws Exception {
+        SessionCache cache = new SessionCache(LONG, LONG, LONG);
+        CountDownLatch loginStarted = new CountDownLatch(1);
+        CountDownLatch failLogin = new CountDownLatch(1);
+        Supplier<AuthenticationUtil.AuthResult> failing = () -> {
+            loginStarted.countDown();
+            await(failLogin);
+            // An Error, as thrown by a failed REST Assured validation
+            throw new AssertionError("login rejected");
+        };
+        
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> cache.get(BASE_URL, "admin", failing, STILL_VALID));
+            Assert.assertTrue(loginStarted.await(5, TimeUnit.SECONDS));
+            Future<?> waiter = executor.submit(() -> cache.get(BASE_URL, "admin", failing, STILL_VALID));
+            Thread.sleep(100);
+            failLogin.countDown();
+            
+            for (Future<?> result : List.of(first, waiter)) {
+                try {
+                    result.get(5, TimeUnit.SECONDS);
+                    Assert.fail("The failed login should reach every caller");
+                } catch (ExecutionException e) {
+                    Assert.assertTrue(e.getCause() instanceof AssertionError, "Unexpected failure: " + e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        AtomicInteger logins = new AtomicInteger();
+        Assert.assertEquals(cache.get(BASE_URL, "admin", countingLogin(logins), STILL_VALID).getSessionCookie(),
+                "session-1", "The next caller should log in afresh");
+    }
+    
+    private static Supplier<AuthenticationUtil.AuthResult> countingLogin(AtomicInteger logins) {
+        return () -> new AuthenticationUtil.AuthResult("session-" + logins.incrementAndGet(), "token");
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package config;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Properties;
+
+/**
+ * Resolves the chromedriver binary once per machine instead of once per browser.
+ * The resolved path is cached on disk together with a fingerprint of the installed
+ * Chrome (its path, size and modification time), so later runs skip WebDriverManager's
+ * version detection and network lookups until Chrome is updated. When resolution
+ * fails, e.g. offline, the last cached driver is used if it still exists.
+ *
+ * Configuration:
+ * -Ddriver.cache           cache file of the resolved driver (default: ~/.cache/selenium-cucumber/chromedriver.properties)
+ * -Dwebdriver.chrome.driver  use this driver binary and skip resolution
+ */
+public class DriverBinaries {
+    private static Path chromeDriver;
+
+    private DriverBinaries() {
+    }
+
+    /**
+     * Returns the chromedriver binary, resolving it on the first call of the JVM
+     */
+    public static synchronized Path chromeDriver() {
+        if (chromeDriver == null) {
+            chromeDriver = resolveChromeDriver(Paths.get(System.getProperty("driver.cache",
+                    Paths.get(System.getProperty("user.home"), ".cache", "selenium-cucumber", "chromedriver.properties").toString())));
+        }
+        return chromeDriver;
+    }
+
+    private static Path resolveChromeDriver(Path cacheFile) {
+        String configured = System.getProperty("webdriver.chrome.driver");
+        if (configured != null && Files.isExecutable(Paths.get(configured))) {
+            return Paths.get(configured);
+        }
+
+        WebDriverManager manager = WebDriverManager.chromedriver();
+        String fingerprint = fingerprint(manager);
+        Properties cached = readCache(cacheFile);
+        String cachedPath = cached.getProperty("driverPath");
+        boolean cachedDriverExists = cachedPath != null && Files.isExecutable(Paths.get(cachedPath));
+        if (cachedDriverExists && fingerprint.equals(cached.getProperty("fingerprint"))) {
+            return Paths.get(cachedPath);
+        }
+
+        try {
+            manager.setup();
+        } catch (RuntimeException e) {
+            if (cachedDriverExists) {
+                System.out.println("WARNING: Could not resolve chromedriver (" + e.getMessage()
+                        + "), using cached " + cached.getProperty("driverVersion") + " at " + cachedPath);
+                return Paths.get(cachedPath);
+            }
+            throw e;
+        }
+
+        Properties resolved = new Properties();
+        resolved.setProperty("fingerprint", fingerprint);
+        resolved.setProperty("driverPath", manager.getDownloadedDriverPath());
+        resolved.setProperty("driverVersion", String.valueOf(manager.getDownloadedDriverVersion()));
+        resolved.setProperty("resolvedAt", Instant.now().toString());
+        writeCache(cacheFile, resolved);
+        System.out.println("Resolved chromedriver " + manager.getDownloadedDriverVersion()
+                + " at " + manager.getDownloadedDriverPath());
+        return Paths.get(manager.getDownloadedDriverPath());
+    }
+
+    /**
+     * Identifies the installed Chrome without starting it, so an update invalidates the cache
+     */
+    private static String fingerprint(WebDriverManager manager) {
+        String platform = System.getProperty("os.name") + "/" + System.getProperty("os.arch");
+        try {
+            Path browser = manager.getBrowserPath().orElse(null);
+            if (browser == null) {
+                return platform + "|no-browser";
+            }
+            Path binary = browser.toRealPath();
+            return platform + "|" + binary + "|" + Files.size(binary) + "|" + Files.getLastModifiedTime(binary).toMillis();
+        } catch (IOException | RuntimeException e) {
+            return platform + "|unknown";
+        }
+    }
+
+    private static Properties readCache(Path cacheFile) {
+        Properties properties = new Properties();
+        if (Files.isRegularFile(cacheFile)) {
+            try (Reader reader = Files.newBufferedReader(cacheFile)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                System.out.println("WARNING: Could not read driver cache " + cacheFile + ": " + e.getMessage());
+            }
+        }
+        return properties;
+    }
+
+    private static void writeCache(Path cacheFile, Properties properties) {
+        try {
+            if (cacheFile.getParent() != null) {
+                Files.createDirectories(cacheFile.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(cacheFile)) {
+                properties.store(writer, "chromedriver resolved by DriverBinaries");
+            }
+        } catch (IOException e) {
+            System.out.println("WARNING: Could not write driver cache " + cacheFile + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package config;
+
+import org.openqa.selenium.grid.config.MapConfig;
+import org.openqa.selenium.grid.commands.Hub;
+import org.openqa.selenium.grid.server.Server;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.net.PortProber;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Selenium Grid started by the test JVM: the hub runs in-process and each node is a
+ * child JVM on the same classpath, so the CPU and memory of a node (its JVM plus the
+ * chromedriver and Chrome processes it starts) can be measured separately.
+ * Nodes use the chromedriver resolved by {@link DriverBinaries}. A sampler records the
+ * usage of every node, see {@link #usageSummary()}.
+ * Use -Dgrid.url instead to run the sessions on an existing grid, e.g. one spread over
+ * several machines.
+ *
+ * Configuration:
+ * -Dgrid.nodes           number of local nodes, enables the embedded grid (default: 0)
+ * -Dgrid.slots           sessions per node, one value for all nodes or one per node (default: driver.pool.size / nodes)
+ * -Dgrid.port            hub port (default: a free port)
+ * -Dgrid.startTimeout    seconds to wait for the nodes to register (default: 60)
+ * -Dgrid.sampleSeconds   interval of the node usage samples (default: 5)
+ */
+public class EmbeddedGrid {
+    private static final Json JSON = new Json();
+    private static final Path WORK_DIR = Paths.get("target", "grid");
+
+    private final Server<?> hub;
+    private final List<Node> nodes;
+    private final ScheduledExecutorService sampler;
+
+    /**
+     * A node process with its latest and peak resource usage
+     */
+    private static class Node {
+        private final String name;
+        private final int slots;
+        private final Process process;
+        private long lastCpuNanos;
+        private long lastSampleNanos = System.nanoTime();
+        private double cpuPercent;
+        private double peakCpuPercent;
+        private long rssKb;
+        private long peakRssKb;
+
+        Node(String name, int slots, Process process) {
+            this.name = name;
+            this.slots = slots;
+            this.process = process;
+        }
+
+        synchronized void sample() {
+            long cpuNanos = 0;
+            long rss = 0;
+            for (ProcessHandle handle : (Iterable<ProcessHandle>) tree()::iterator) {
+                cpuNanos += handle.info().totalCpuDuration().map(Duration::toNanos).orElse(0L);
+                rss += residentKb(handle.pid());
+            }
+            long now = System.nanoTime();
+            // Processes that exited since the last sample take their CPU time with them
+            cpuPercent = Math.max(0, 100.0 * (cpuNanos - lastCpuNanos) / (now - lastSampleNanos));
+            lastCpuNanos = cpuNanos;
+            lastSampleNanos = now;
+            rssKb = rss;
+            peakCpuPercent = Math.max(peakCpuPercent, cpuPercent);
+            peakRssKb = Math.max(peakRssKb, rssKb);
+        }
+
+        synchronized String describe() {
+            return String.format("%s (%d slots): CPU %.0f%% (peak %.0f%%), memory %d MB (peak %d MB)",
+                    name, slots, cpuPercent, peakCpuPercent, rssKb / 1024, peakRssKb / 1024);
+        }
+
+        Stream<ProcessHandle> tree() {
+            return Stream.concat(Stream.of(process.toHandle()), process.descendants());
+        }
+    }
+
+    private EmbeddedGrid(Server<?> hub, List<Node> nodes, ScheduledExecutorService sampler) {
+        this.hub = hub;
+        this.nodes = nodes;
+        this.sampler = sampler;
+    }
+
+    /**
+     * @return Whether -Dgrid.nodes asks for an embedded grid
+     */
+    public static boolean isEnabled() {
+        return Integer.getInteger("grid.nodes", 0) > 0;
+    }
+
+    /**
+     * Starts the hub and the nodes and waits until every node has registered
+     */
+    public static EmbeddedGrid start() {
+        int nodeCount = Integer.getInteger("grid.nodes");
+        List<Integer> slots = slotsPerNode(nodeCount);
+        int hubPort = Integer.getInteger("grid.port", PortProber.findFreePort());
+        int publishPort = PortProber.findFreePort();
+        int subscribePort = PortProber.findFreePort();
+
+        Server<?> hub = new Hub().asServer(new MapConfig(Map.of(
+                "server", Map.of("host", "localhost", "port", hubPort),
+                "events", Map.of("bind", true,
+                        "publish", "tcp://*:" + publishPort,
+                        "subscribe", "tcp://*:" + subscribePort)))).start();
+
+        List<Node> nodes = new ArrayList<>();
+        try {
+            Files.createDirectories(WORK_DIR);
+            String chromeDriver = DriverBinaries.chromeDriver().toString();
+            for (int i = 0; i < nodeCount; i++) {
+                String name = "node-" + (i + 1);
+                Path config = WORK_DIR.resolve(name + ".toml");
+                Files.writeString(config, nodeConfig(PortProber.findFreePort(), publishPort, subscribePort,
+                        slots.get(i), chromeDriver));
+                Process process = new ProcessBuilder(
+                        Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                        "-cp", System.getProperty("java.class.path"),
+                        "org.openqa.selenium.grid.Main", "node", "--config", config.toString())
+                        .redirectErrorStream(true)
+                        .redirectOutput(WORK_DIR.resolve(name + ".log").toFile())
+                        .start();
+                nodes.add(new Node(name, slots.get(i), process));
+            }
+        } catch (IOException e) {
+            stop(hub, nodes);
+            throw new UncheckedIOException("Could not start the grid nodes", e);
+        }
+
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grid-usage-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        EmbeddedGrid grid = new EmbeddedGrid(hub, nodes, sampler);
+        try {
+            grid.awaitNodes(Duration.ofSeconds(Long.getLong("grid.startTimeout", 60)));
+        } catch (RuntimeException e) {
+            grid.stop();
+            throw e;
+        }
+        long interval = Long.getLong("grid.sampleSeconds", 5);
+        sampler.scheduleAtFixedRate(grid::sample, interval, interval, TimeUnit.SECONDS);
+        System.out.println("Started Selenium Grid at " + grid.getUrl() + " with " + nodeCount + " nodes " + slots);
+        return grid;
+    }
+
+    /**
+     * @return The hub URL that RemoteWebDriver sessions are created on
+     */
+    public URL getUrl() {
+        return hub.getUrl();
+    }
+
+    /**
+     * @return The latest and peak CPU and memory usage of every node, one line per node
+     */
+    public String usageSummary() {
+        StringBuilder summary = new StringBuilder();
+        for (Node node : nodes) {
+            summary.append(node.describe()).append('\n');
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Stops the nodes, their browsers and the hub
+     */
+    public void stop() {
+        sampler.shutdownNow();
+        sample();
+        System.out.print("Selenium Grid node usage:\n" + usageSummary());
+        stop(hub, nodes);
+    }
+
+    private void sample() {
+        for (Node node : nodes) {
+            try {
+                node.sample();
+            } catch (RuntimeException e) {
+                System.out.println("WARNING: Could not sample " + node.name + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static void stop(Server<?> hub, List<Node> nodes) {
+        for (Node node : nodes) {
+            // Browsers first, so none outlive a node that is killed before it can quit them
+            node.process.descendants().forEach(ProcessHandle::destroy);
+            node.process.destroy();
+        }
+        for (Node node : nodes) {
+            try {
+                if (!node.process.waitFor(10, TimeUnit.SECONDS)) {
+                    node.process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                node.process.destroyForcibly();
+            }
+        }
+        hub.stop();
+    }
+
+    private void awaitNodes(Duration timeout) {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(getUrl() + "/status")).build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        int registered = 0;
+        while (System.nanoTime() < deadline) {
+            for (Node node : nodes) {
+                if (!node.process.isAlive()) {
+                    throw new IllegalStateException(node.name + " exited with code " + node.process.exitValue()
+                            + ", see " + WORK_DIR.resolve(node.name + ".log"));
+                }
+            }
+            try {
+                Map<String, Object> status = JSON.toType(
+                        client.send(request, HttpResponse.BodyHandlers.ofString()).body(), Json.MAP_TYPE);
+                Object registeredNodes = ((Map<?, ?>) status.get("value")).get("nodes");
+                registered = registeredNodes instanceof List ? ((List<?>) registeredNodes).size() : 0;
+                if (registered == nodes.size()) {
+                    return;
+                }
+                Thread.sleep(250);
+            } catch (IOException | RuntimeException e) {
+                // The hub is still starting
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the grid nodes", e);
+            }
+        }
+        throw new IllegalStateException(registered + " of " + nodes.size() + " grid nodes registered within "
+                + timeout.toSeconds() + " s, see the logs in " + WORK_DIR);
+    }
+
+    private static List<Integer> slotsPerNode(int nodeCount) {
+        String configured = System.getProperty("grid.slots");
+        List<Integer> slots = new ArrayList<>();
+        if (configured == null) {
+            int poolSize = Integer.getInteger("driver.pool.size", Runtime.getRuntime().availableProcessors());
+            for (int i = 0; i < nodeCount; i++) {
+                slots.add(Math.max(1, (poolSize + nodeCount - 1) / nodeCount));
+            }
+            return slots;
+        }
+        String[] values = configured.split(",");
+        if (values.length != 1 && values.length != nodeCount) {
+            throw new IllegalArgumentException("grid.slots needs one value or one per node, got " + configured);
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            slots.add(Integer.parseInt(values[values.length == 1 ? 0 : i].trim()));
+        }
+        return slots;
+    }
+
+    private static String nodeConfig(int port, int publishPort, int subscribePort, int slots, String chromeDriver) {
+        return "[server]\n"
+                + "host = \"localhost\"\n"
+                + "port = " + port + "\n"
+                + "\n"
+                + "[events]\n"
+                + "publish = \"tcp://localhost:" + publishPort + "\"\n"
+                + "subscribe = \"tcp://localhost:" + subscribePort + "\"\n"
+                + "\n"
+                + "[node]\n"
+                + "detect-drivers = false\n"
+                + "max-sessions = " + slots + "\n"
+                // Without this the node caps its slots at the number of processors
+                + "override-max-sessions = true\n"
+                + "\n"
+                + "[[node.driver-configuration]]\n"
+                + "display-name = \"chrome\"\n"
+                + "webdriver-executable = " + JSON.toJson(chromeDriver) + "\n"
+                + "max-sessions = " + slots + "\n"
+                + "stereotype = '{\"browserName\": \"chrome\"}'\n";
+    }
+
+    /**
+     * Resident memory of a process from /proc, 0 where that is not available
+     */
+    private static long residentKb(long pid) {
+        try (Stream<String> lines = Files.lines(Paths.get("/proc", String.valueOf(pid), "status"))) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst().orElse(0);
+        } catch (IOException | UncheckedIOException | NumberFormatException e) {
+            return 0;
+        }
+    }
+}
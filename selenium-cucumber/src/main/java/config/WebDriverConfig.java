@@ -1,21 +1,144 @@
 package config;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import utils.ResourceBlocker;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public class WebDriverConfig {
+    private static SharedChromeDriverService service;
+    private static EmbeddedGrid grid;
+    
+    /**
+     * chromedriver process shared by every browser session of the JVM.
+     * ChromeDriver stops its service when the session quits, so stopping is
+     * deferred to {@link #shutdown()}. If the process dies it is replaced
+     * by a new service for the next session, see {@link #getService()}.
+     */
+    private static class SharedChromeDriverService extends ChromeDriverService {
+        SharedChromeDriverService(File executable, int port, Duration timeout, List<String> args,
+                                  Map<String, String> environment) throws IOException {
+            super(executable, port, timeout, args, environment);
+        }
+        
+        @Override
+        public void stop() {
+            // Outlives the sessions, see WebDriverConfig.shutdown()
+        }
+        
+        void shutdown() {
+            super.stop();
+        }
+    }
+    
+    private static class SharedServiceBuilder extends ChromeDriverService.Builder {
+        @Override
+        protected ChromeDriverService createDriverService(File exe, int port, Duration timeout, List<String> args,
+                                                          Map<String, String> environment) {
+            try {
+                return new SharedChromeDriverService(exe, port, timeout, args, environment);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
     
     public static WebDriver setupDriver() {
-        WebDriverManager.chromedriver().setup();
         ChromeOptions options = getChromeOptions();
-        WebDriver driver = new ChromeDriver(options);
+        URL gridUrl = getGridUrl();
+        WebDriver driver = gridUrl != null
+                // Augmented so DevTools and CDP commands keep working through the grid
+                ? new Augmenter().augment(new RemoteWebDriver(gridUrl, options))
+                : new ChromeDriver(getService(), options);
         configureDriverTimeouts(driver);
+        
+        // Opt-in lightweight mode, blocks assets the page objects do not need
+        if (Boolean.getBoolean("browser.lite")) {
+            ResourceBlocker.attach(driver);
+        }
         return driver;
     }
+    
+    /**
+     * Stops the shared chromedriver process and the embedded grid, once all browsers have quit
+     */
+    public static synchronized void shutdown() {
+        if (service != null) {
+            service.shutdown();
+            service = null;
+        }
+        if (grid != null) {
+            grid.stop();
+            grid = null;
+        }
+    }
+    
+    /**
+     * @return CPU and memory usage of the embedded grid's nodes, or empty without an embedded grid
+     */
+    public static synchronized Optional<String> gridUsage() {
+        return grid == null ? Optional.empty() : Optional.of(grid.usageSummary());
+    }
+    
+    /**
+     * Returns the grid to create sessions on: -Dgrid.url, the embedded grid
+     * started on first use when -Dgrid.nodes is set, or null for local browsers
+     */
+    private static synchronized URL getGridUrl() {
+        String configured = System.getProperty("grid.url");
+        if (configured != null) {
+            try {
+                return new URL(configured);
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException("Invalid grid.url " + configured, e);
+            }
+        }
+        if (!EmbeddedGrid.isEnabled()) {
+            return null;
+        }
+        if (grid == null) {
+            grid = EmbeddedGrid.start();
+        }
+        return grid.getUrl();
+    }
+    
+    private static synchronized ChromeDriverService getService() {
+        // start() does nothing for a service that was started once, so a dead process is replaced
+        if (service != null && !service.isRunning()) {
+            System.out.println("WARNING: chromedriver exited, starting a new one");
+            try {
+                service.shutdown();
+            } catch (RuntimeException e) {
+                // Only cleans up after the dead process
+            }
+            service = null;
+        }
+        if (service == null) {
+            service = (SharedChromeDriverService) new SharedServiceBuilder()
+                    .usingDriverExecutable(DriverBinaries.chromeDriver().toFile())
+                    .usingAnyFreePort()
+                    .build();
+            try {
+                service.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start chromedriver", e);
+            }
+        }
+        return service;
+    }
 
     private static ChromeOptions getChromeOptions() {
         ChromeOptions options = new ChromeOptions();
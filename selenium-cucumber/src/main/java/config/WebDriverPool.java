@@ -0,0 +1,163 @@
+package config;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Pool of warm browser sessions leased to scenarios.
+ * Drivers are created lazily up to the pool size, reset between leases and
+ * replaced when they fail a health check, so a run does not pay one browser
+ * launch per scenario.
+ *
+ * Configuration:
+ * -Ddriver.pool.size    maximum number of browsers (default: available processors)
+ * -Ddriver.pool.maxUses number of leases before a browser is recycled (default: 50)
+ */
+public class WebDriverPool {
+    private static final WebDriverPool INSTANCE = new WebDriverPool(
+            Integer.getInteger("driver.pool.size", Runtime.getRuntime().availableProcessors()),
+            Integer.getInteger("driver.pool.maxUses", 50));
+
+    private final int maxUses;
+    private final Semaphore leases;
+    private final BlockingDeque<WebDriver> idleDrivers = new LinkedBlockingDeque<>();
+    // Every browser the pool created and has not quit yet, leased or idle
+    private final Map<WebDriver, Integer> useCounts = new ConcurrentHashMap<>();
+
+    public WebDriverPool(int size, int maxUses) {
+        if (size < 1 || maxUses < 1) {
+            throw new IllegalArgumentException("Pool size and max uses must be positive");
+        }
+        this.maxUses = maxUses;
+        this.leases = new Semaphore(size, true);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+    }
+
+    public static WebDriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Leases a browser, reusing an idle one when it is still healthy.
+     * Blocks while all browsers are leased.
+     */
+    public WebDriver acquire() {
+        try {
+            leases.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a browser", e);
+        }
+
+        try {
+            WebDriver driver;
+            // Most recently used first, it is the most likely to still be warm
+            while ((driver = idleDrivers.pollFirst()) != null) {
+                if (isHealthy(driver)) {
+                    useCounts.merge(driver, 1, Integer::sum);
+                    return driver;
+                }
+                System.out.println("WARNING: Evicting unhealthy browser from the pool");
+                quit(driver);
+            }
+
+            driver = WebDriverConfig.setupDriver();
+            useCounts.put(driver, 1);
+            return driver;
+        } catch (RuntimeException e) {
+            leases.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a leased browser to the pool after clearing cookies and storage.
+     * Browsers that cannot be reset or have reached their use limit are quit.
+     */
+    public void release(WebDriver driver) {
+        try {
+            if (useCounts.getOrDefault(driver, maxUses) >= maxUses) {
+                quit(driver);
+                return;
+            }
+            reset(driver);
+            idleDrivers.offerFirst(driver);
+        } catch (RuntimeException e) {
+            System.out.println("WARNING: Evicting browser that could not be reset: " + e.getMessage());
+            quit(driver);
+        } finally {
+            leases.release();
+        }
+    }
+
+    /**
+     * Quits a leased browser instead of returning it, e.g. after a crash
+     */
+    public void evict(WebDriver driver) {
+        try {
+            quit(driver);
+        } finally {
+            leases.release();
+        }
+    }
+
+    /**
+     * Quits all browsers, including those still leased, and stops the shared chromedriver or embedded grid
+     */
+    public void shutdown() {
+        idleDrivers.clear();
+        for (WebDriver driver : List.copyOf(useCounts.keySet())) {
+            quit(driver);
+        }
+        WebDriverConfig.shutdown();
+    }
+
+    private void reset(WebDriver driver) {
+        // Close any windows opened by the scenario and keep the first one
+        Set<String> handles = driver.getWindowHandles();
+        String mainHandle = handles.iterator().next();
+        for (String handle : handles) {
+            if (!handle.equals(mainHandle)) {
+                driver.switchTo().window(handle).close();
+            }
+        }
+        driver.switchTo().window(mainHandle);
+
+        // Storage can only be cleared from the origin that owns it, so do it before leaving the page
+        if (driver.getCurrentUrl().startsWith("http")) {
+            ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        }
+        driver.manage().deleteAllCookies();
+        if (driver instanceof HasCdp) {
+            // deleteAllCookies only covers the current domain
+            ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        }
+        driver.get("about:blank");
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            return !driver.getWindowHandles().isEmpty() && driver.getCurrentUrl() != null;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void quit(WebDriver driver) {
+        useCounts.remove(driver);
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            System.out.println("WARNING: Failed to quit browser: " + e.getMessage());
+        }
+    }
+}
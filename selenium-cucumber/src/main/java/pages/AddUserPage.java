@@ -1,7 +1,6 @@
 package pages;
 
 import io.qameta.allure.Step;
-import io.qameta.allure.Allure;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -10,9 +9,10 @@ import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import utils.ApiHelper;
-import org.openqa.selenium.TakesScreenshot;
-import org.openqa.selenium.OutputType;
-import java.io.ByteArrayInputStream;
+import utils.Attachments;
+import utils.EmployeeIndex;
+import utils.EmployeePool;
+import utils.NetworkMonitor;
 
 import java.time.Duration;
 import java.util.Arrays;
@@ -20,6 +20,9 @@ import java.util.List;
 import java.util.Random;
 
 public class AddUserPage {
+    // XHR made by the employee name autocomplete
+    private static final String EMPLOYEE_SEARCH_ENDPOINT = "/api/v2/pim/employees";
+    
     private WebDriver driver;
     private WebDriverWait wait;
     private Random random = new Random();
@@ -100,15 +103,21 @@ public class AddUserPage {
 
     @Step("Entering employee name: {0}")
     public String enterEmployeeName(String name) {
-        // Always use "test" as the search term
-        String searchTerm = "test";
-        selectedEmployee = searchTerm; // Store the search term
+        // Pick the employee from the prefetched index and search with a term that only matches them.
+        // Pooled employees have unique names, so their full name is such a term.
+        EmployeeIndex employees = EmployeeIndex.getInstance();
+        String employee = employees.contains(name) || EmployeePool.getInstance().contains(name)
+            ? name : employees.randomName();
+        String searchTerm = employees.searchTermFor(employee);
         
-        Allure.addAttachment("Employee Search", "Using search term: " + searchTerm);
+        Attachments.text("Employee Search", "Using search term: " + searchTerm);
+        
+        NetworkMonitor network = NetworkMonitor.forDriver(driver);
         
         try {
             // Clear and enter the search term
             WebElement input = wait.until(ExpectedConditions.elementToBeClickable(employeeNameInput));
+            long searchesBefore = network.completedCount(EMPLOYEE_SEARCH_ENDPOINT);
             input.clear();
             input.sendKeys(searchTerm);
             
@@ -120,17 +129,12 @@ public class AddUserPage {
             longWait.until(ExpectedConditions.visibilityOfElementLocated(dropdownLocator));
             
             // Take a screenshot of the dropdown
-            if (driver instanceof TakesScreenshot) {
-                byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-                Allure.addAttachment("Employee Dropdown", "image/png", new ByteArrayInputStream(screenshot), "png");
-            }
-            
-            // Wait a bit more to ensure all options are loaded
-            Thread.sleep(2000);
+            Attachments.screenshot("Employee Dropdown", driver);
             
-            // Now get all the options
+            // Wait for the search request to finish and the options to replace the "Searching...." placeholder
+            network.waitForCompletion(EMPLOYEE_SEARCH_ENDPOINT, searchesBefore, Duration.ofSeconds(10));
             By optionLocator = By.cssSelector(".oxd-autocomplete-dropdown[role='listbox'] .oxd-autocomplete-option");
-            List<WebElement> suggestions = driver.findElements(optionLocator);
+            List<WebElement> suggestions = longWait.until(d -> optionsRendered(optionLocator));
             
             if (!suggestions.isEmpty()) {
                 // Log all available options
@@ -138,14 +142,14 @@ public class AddUserPage {
                 for (int i = 0; i < suggestions.size(); i++) {
                     availableOptions.append(i + 1).append(". ").append(suggestions.get(i).getText()).append("\n");
                 }
-                Allure.addAttachment("Dropdown Options", availableOptions.toString());
+                Attachments.text("Dropdown Options", availableOptions.toString());
                 
                 // Select the first suggestion
                 WebElement firstSuggestion = suggestions.get(0);
                 
                 // Log the suggestion text
                 String suggestionText = firstSuggestion.getText();
-                Allure.addAttachment("Selected Employee", "Selected: " + suggestionText);
+                Attachments.text("Selected Employee", "Selected: " + suggestionText);
                 selectedEmployee = suggestionText; // Update with the actual selected employee
                 
                 // Try different click strategies
@@ -155,9 +159,9 @@ public class AddUserPage {
                 try {
                     firstSuggestion.click();
                     clickSuccess = true;
-                    Allure.addAttachment("Click Strategy", "Standard click successful");
+                    Attachments.text("Click Strategy", "Standard click successful");
                 } catch (Exception e) {
-                    Allure.addAttachment("Click Strategy", "Standard click failed: " + e.getMessage());
+                    Attachments.text("Click Strategy", "Standard click failed: " + e.getMessage());
                 }
                 
                 // // Strategy 2: JavaScript click if standard click failed
@@ -166,9 +170,9 @@ public class AddUserPage {
                 //         org.openqa.selenium.JavascriptExecutor js = (org.openqa.selenium.JavascriptExecutor) driver;
                 //         js.executeScript("arguments[0].click();", firstSuggestion);
                 //         clickSuccess = true;
-                //         Allure.addAttachment("Click Strategy", "JavaScript click successful");
+                //         Attachments.text("Click Strategy", "JavaScript click successful");
                 //     } catch (Exception e) {
-                //         Allure.addAttachment("Click Strategy", "JavaScript click failed: " + e.getMessage());
+                //         Attachments.text("Click Strategy", "JavaScript click failed: " + e.getMessage());
                 //     }
                 // }
                 
@@ -178,9 +182,9 @@ public class AddUserPage {
                 //         org.openqa.selenium.interactions.Actions actions = new org.openqa.selenium.interactions.Actions(driver);
                 //         actions.moveToElement(firstSuggestion).click().perform();
                 //         clickSuccess = true;
-                //         Allure.addAttachment("Click Strategy", "Actions click successful");
+                //         Attachments.text("Click Strategy", "Actions click successful");
                 //     } catch (Exception e) {
-                //         Allure.addAttachment("Click Strategy", "Actions click failed: " + e.getMessage());
+                //         Attachments.text("Click Strategy", "Actions click failed: " + e.getMessage());
                 //     }
                 // }
                 
@@ -188,15 +192,18 @@ public class AddUserPage {
                 try {
                     longWait.until(ExpectedConditions.invisibilityOfElementLocated(dropdownLocator));
                 } catch (Exception e) {
-                    Allure.addAttachment("Dropdown Disappearance", "Dropdown did not disappear: " + e.getMessage());
+                    Attachments.text("Dropdown Disappearance", "Dropdown did not disappear: " + e.getMessage());
                 }
                 
-                // Take a screenshot after selection
-                if (driver instanceof TakesScreenshot) {
-                    byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-                    Allure.addAttachment("After Employee Selection", "image/png", new ByteArrayInputStream(screenshot), "png");
+                // Read back the employee the field actually holds, the search term is only a prefix of it
+                String inputValue = employeeNameInput.getDomProperty("value");
+                if (inputValue != null && !inputValue.isBlank()) {
+                    selectedEmployee = inputValue.trim();
                 }
                 
+                // Take a screenshot after selection
+                Attachments.screenshot("After Employee Selection", driver);
+                
                 // Check if the "Invalid" error message is visible
                 By errorMessageLocator = By.cssSelector(".oxd-input-field-error-message");
                 List<WebElement> errorMessages = driver.findElements(errorMessageLocator);
@@ -207,48 +214,59 @@ public class AddUserPage {
                         String errorText = error.getText();
                         errors.append("- ").append(errorText).append("\n");
                     }
-                    Allure.addAttachment("Employee Selection Errors", errors.toString());
+                    Attachments.text("Employee Selection Errors", errors.toString());
                 }
                 
                 return selectedEmployee;
             } else {
-                Allure.addAttachment("No Suggestions", "No employee suggestions appeared for: " + searchTerm);
+                Attachments.text("No Suggestions", "No employee suggestions appeared for: " + searchTerm);
                 throw new RuntimeException("No employee suggestions appeared for: " + searchTerm);
             }
         } catch (Exception e) {
-            Allure.addAttachment("Employee Selection Error", "Error with term '" + searchTerm + "': " + e.getMessage());
+            Attachments.text("Employee Selection Error", "Error with term '" + searchTerm + "': " + e.getMessage());
             
             // Fallback approach - try with a direct approach
             try {
-                Allure.addAttachment("Fallback Approach", "Trying direct approach with 'Orange Test'");
+                Attachments.text("Fallback Approach", "Trying direct approach with 'Orange Test'");
                 
                 WebElement input = wait.until(ExpectedConditions.elementToBeClickable(employeeNameInput));
+                long searchesBefore = network.completedCount(EMPLOYEE_SEARCH_ENDPOINT);
                 input.clear();
                 input.sendKeys("Orange Test");
                 selectedEmployee = "Orange Test";
                 
-                // Wait a moment for the dropdown
-                Thread.sleep(2000);
-                
-                // Try to find and click the dropdown again
+                // Try to find and click the dropdown again once the search has returned
                 By fallbackOption = By.xpath("//div[@role='listbox']//span[contains(text(),'Orange Test')]");
                 try {
-                    WebElement option = driver.findElement(fallbackOption);
+                    network.waitForCompletion(EMPLOYEE_SEARCH_ENDPOINT, searchesBefore, Duration.ofSeconds(10));
+                    WebElement option = wait.until(ExpectedConditions.elementToBeClickable(fallbackOption));
                     option.click();
                     return "Orange Test";
                 } catch (Exception ex) {
                     // If we can't find the option, just continue with what we have
-                    Allure.addAttachment("Fallback Selection Failed", "Could not select fallback option: " + ex.getMessage());
+                    Attachments.text("Fallback Selection Failed", "Could not select fallback option: " + ex.getMessage());
                 }
                 
                 return selectedEmployee;
             } catch (Exception fallbackEx) {
-                Allure.addAttachment("All Approaches Failed", "Error: " + fallbackEx.getMessage());
+                Attachments.text("All Approaches Failed", "Error: " + fallbackEx.getMessage());
                 return "Orange Test"; // Return a default value to allow the test to continue
             }
         }
     }
 
+    /**
+     * Returns the autocomplete options once real results have rendered, or null while
+     * the dropdown still shows its loading placeholder
+     */
+    private List<WebElement> optionsRendered(By optionLocator) {
+        List<WebElement> options = driver.findElements(optionLocator);
+        if (options.isEmpty() || options.get(0).getText().startsWith("Searching")) {
+            return null;
+        }
+        return options;
+    }
+
     @Step("Selecting status: {0}")
     public void selectStatus(String status) {
         wait.until(ExpectedConditions.elementToBeClickable(statusDropdown)).click();
@@ -298,11 +316,7 @@ public class AddUserPage {
     public boolean isSuccessMessageDisplayed() {
         try {
             // Take a screenshot of the current page state
-            if (driver instanceof TakesScreenshot) {
-                byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-                Allure.addAttachment("Page State When Checking Success", "image/png", 
-                                     new ByteArrayInputStream(screenshot), "png");
-            }
+            Attachments.screenshot("Page State When Checking Success", driver);
             
             // Wait for any toast message to appear
             By toastLocator = By.cssSelector(".oxd-toast");
@@ -311,10 +325,10 @@ public class AddUserPage {
             try {
                 WebElement toast = longWait.until(ExpectedConditions.visibilityOfElementLocated(toastLocator));
                 String toastText = toast.getText();
-                Allure.addAttachment("Toast Message", "Toast text: " + toastText);
+                Attachments.text("Toast Message", "Toast text: " + toastText);
                 return toastText.contains("Success");
             } catch (Exception toastException) {
-                Allure.addAttachment("Toast Exception", "Error finding toast: " + toastException.getMessage());
+                Attachments.text("Toast Exception", "Error finding toast: " + toastException.getMessage());
                 
                 // Alternative check: Look for return to Admin page
                 try {
@@ -323,19 +337,19 @@ public class AddUserPage {
                     boolean isOnAdminPage = adminTitle.isDisplayed() && 
                                            adminTitle.getText().contains("System Users");
                     
-                    Allure.addAttachment("Admin Page Check", 
+                    Attachments.text("Admin Page Check", 
                         "Returned to Admin page: " + isOnAdminPage);
                     
                     // If we're back on the Admin page, consider it a success
                     return isOnAdminPage;
                 } catch (Exception adminException) {
-                    Allure.addAttachment("Admin Page Check Failed", 
+                    Attachments.text("Admin Page Check Failed", 
                         "Error checking admin page: " + adminException.getMessage());
                     return false;
                 }
             }
         } catch (Exception e) {
-            Allure.addAttachment("Success Message Error", "Error checking success message: " + e.getMessage());
+            Attachments.text("Success Message Error", "Error checking success message: " + e.getMessage());
             return false;
         }
     }
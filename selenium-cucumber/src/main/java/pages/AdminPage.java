@@ -1,13 +1,13 @@
 package pages;
 
 import io.qameta.allure.Step;
-import io.qameta.allure.Allure;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.Attachments;
 import java.time.Duration;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -37,7 +37,7 @@ public class AdminPage {
         try {
             return wait.until(ExpectedConditions.visibilityOf(recordsCount)).getText();
         } catch (Exception e) {
-            Allure.addAttachment("Records Count Error", "Error getting records count: " + e.getMessage());
+            Attachments.text("Records Count Error", "Error getting records count: " + e.getMessage());
             return "0 Records Found"; // Default value if element not found
         }
     }
@@ -45,28 +45,34 @@ public class AdminPage {
     @Step("Getting records count as integer")
     public int getRecordsCountAsInt() {
         String countText = getRecordsCount();
-        Allure.addAttachment("Records Count Text", countText);
+        Attachments.text("Records Count Text", countText);
         
-        // Extract the number from text like "(7) Records Found"
-        Pattern pattern = Pattern.compile("\\(?(\\d+)\\)?");
-        Matcher matcher = pattern.matcher(countText);
+        Matcher matcher = matchRecordsCount(countText);
         
         if (matcher.find()) {
             String countStr = matcher.group(1); // Get the captured group (the number)
             try {
                 int count = Integer.parseInt(countStr);
-                Allure.addAttachment("Extracted Count", String.valueOf(count));
+                Attachments.text("Extracted Count", String.valueOf(count));
                 return count;
             } catch (NumberFormatException e) {
-                Allure.addAttachment("Count Parsing Error", "Error parsing count: " + e.getMessage());
+                Attachments.text("Count Parsing Error", "Error parsing count: " + e.getMessage());
                 return 0;
             }
         } else {
-            Allure.addAttachment("Count Extraction Failed", "No numbers found in: " + countText);
+            Attachments.text("Count Extraction Failed", "No numbers found in: " + countText);
             return 0;
         }
     }
 
+    /**
+     * Matches the number in text like "(7) Records Found", the count is in group 1
+     */
+    static Matcher matchRecordsCount(String countText) {
+        Pattern pattern = Pattern.compile("\\(?(\\d+)\\)?");
+        return pattern.matcher(countText);
+    }
+
     @Step("Clicking Add button on Admin page")
     public void clickAddButton() {
         wait.until(ExpectedConditions.elementToBeClickable(addButton)).click();
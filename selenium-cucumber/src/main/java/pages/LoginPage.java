@@ -5,9 +5,14 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.chromium.HasCdp;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.SessionLogin;
+import java.net.URI;
 import java.time.Duration;
+import java.util.Map;
 
 public class LoginPage {
     private WebDriver driver;
@@ -35,6 +40,42 @@ public class LoginPage {
         }
     }
 
+    /**
+     * Opens the dashboard with a session obtained through the HTTP login flow,
+     * skipping the login form
+     * @param url Any URL of the site, e.g. the login page URL of the scenario
+     * @param username The username to log in with
+     * @param password The password to log in with
+     * @return Whether the browser landed on the dashboard logged in
+     */
+    @Step("Opening dashboard of {url} with an API session of {username}")
+    public boolean openWithSession(String url, String username, String password) {
+        URI uri = URI.create(url);
+        String baseUrl = uri.getScheme() + "://" + uri.getAuthority();
+        String sessionCookie = SessionLogin.sessionCookie(baseUrl, username, password);
+        
+        if (driver instanceof HasCdp) {
+            // Set the cookie without loading a page of the site first
+            ((HasCdp) driver).executeCdpCommand("Network.setCookie", Map.of(
+                    "name", SessionLogin.COOKIE_NAME,
+                    "value", sessionCookie,
+                    "url", baseUrl,
+                    "path", SessionLogin.COOKIE_PATH));
+        } else {
+            // WebDriver only accepts cookies for the domain of the current page
+            driver.get(baseUrl + SessionLogin.LOGIN_PATH);
+            driver.manage().addCookie(new Cookie(SessionLogin.COOKIE_NAME, sessionCookie, SessionLogin.COOKIE_PATH));
+        }
+        
+        driver.get(baseUrl + SessionLogin.DASHBOARD_PATH);
+        if (isLoggedInSuccessfully()) {
+            return true;
+        }
+        // The site dropped the cached session, the next scenario logs in again
+        SessionLogin.invalidate(baseUrl, username);
+        return false;
+    }
+
     @Step("Entering username: {username}")
     public void enterUsername(String username) {
         try {
@@ -1,23 +1,42 @@
 package utils;
 
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
-import org.json.JSONArray;
-import org.json.JSONObject;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.json.JsonType;
 import io.qameta.allure.Step;
-import io.qameta.allure.Allure;
 
 /**
  * Helper class to interact with the OrangeHRM API
  */
 public class ApiHelper {
-    private static final String API_URL = "https://opensource-demo.orangehrmlive.com/web/index.php/api/v2/pim/employees?nameOrId=";
-    private static final Random random = new Random();
+    // Base URL can be overridden with -Dapi.baseUrl, e.g. to point at the REST module's stub server
+    private static final String BASE_URL = System.getProperty("api.baseUrl", "https://opensource-demo.orangehrmlive.com");
+    private static final String EMPLOYEES_URL = BASE_URL + "/web/index.php/api/v2/pim/employees";
+    private static final String API_URL = EMPLOYEES_URL + "?nameOrId=";
+    private static final String USERS_URL = BASE_URL + "/web/index.php/api/v2/admin/users";
     
     // Fallback list of known employees in case API fails
     private static final List<String> FALLBACK_EMPLOYEES = List.of(
@@ -38,6 +57,64 @@ public class ApiHelper {
         "Joe Root"
     );
     
+    // One client for the whole run so connections are kept alive and multiplexed over HTTP/2
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(Executors.newFixedThreadPool(
+                    Integer.getInteger("api.concurrency", 8), daemonThreads("api-helper-")))
+            .build();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Json JSON = new Json();
+    
+    /**
+     * Outcome of one employee search: the names found, or why there are none.
+     * Searches complete on the HTTP client's threads, which have no Allure test context,
+     * so the outcome is carried back to the caller and attached from its thread.
+     */
+    public static final class EmployeeSearch {
+        private final String searchTerm;
+        private final List<String> names;
+        private final String error;
+        
+        private EmployeeSearch(String searchTerm, List<String> names, String error) {
+            this.searchTerm = searchTerm;
+            this.names = names;
+            this.error = error;
+        }
+        
+        public String getSearchTerm() {
+            return searchTerm;
+        }
+        
+        /**
+         * @return The names found, empty if the request failed
+         */
+        public List<String> getNames() {
+            return names;
+        }
+        
+        /**
+         * @return Why the request failed, if it did
+         */
+        public Optional<String> getError() {
+            return Optional.ofNullable(error);
+        }
+        
+        /**
+         * Attaches the outcome to the current step, call it from the step's thread
+         */
+        public void attach() {
+            if (error != null) {
+                Attachments.text("API Error", "Search '" + searchTerm + "': " + error);
+            } else {
+                // Summarise instead of attaching the body, which can hold tens of thousands of records
+                Attachments.text("API Response for " + searchTerm, names.size() + " employees");
+            }
+        }
+    }
+    
     /**
      * Fetches employee names from the OrangeHRM API
      * @param searchTerm The search term to use (can be a single letter like 'a', 'b', etc.)
@@ -45,133 +122,357 @@ public class ApiHelper {
      */
     @Step("Fetching employee names from API with search term: {0}")
     public static List<String> fetchEmployeeNames(String searchTerm) {
-        List<String> employeeNames = new ArrayList<>();
+        return attachAndMerge(List.of(fetchEmployeeNamesAsync(searchTerm).join()));
+    }
+    
+    /**
+     * Fetches employee names for several search terms concurrently and merges them in order
+     * @param searchTerms The search terms to use
+     * @return A list of employee names, or the fallback list if every request failed
+     */
+    @Step("Fetching employee names from API for several search terms")
+    public static List<String> fetchAllEmployeeNames(String... searchTerms) {
+        return attachAndMerge(fetchAllEmployeeNamesAsync(searchTerms).join());
+    }
+    
+    /**
+     * Fetches employee names for several search terms concurrently without blocking the caller
+     * @param searchTerms The search terms to use
+     * @return A future of the searches in the order of their terms
+     */
+    public static CompletableFuture<List<EmployeeSearch>> fetchAllEmployeeNamesAsync(String... searchTerms) {
+        List<CompletableFuture<EmployeeSearch>> futures = new ArrayList<>(searchTerms.length);
+        for (String searchTerm : searchTerms) {
+            futures.add(fetchEmployeeNamesAsync(searchTerm));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(done -> {
+                    List<EmployeeSearch> searches = new ArrayList<>(futures.size());
+                    for (CompletableFuture<EmployeeSearch> future : futures) {
+                        searches.add(future.join());
+                    }
+                    return searches;
+                });
+    }
+    
+    /**
+     * Fetches employee names without blocking the caller. Nothing is attached or logged,
+     * the outcome is part of the result.
+     * @param searchTerm The search term to use
+     * @return A future of the search, which never completes exceptionally
+     */
+    public static CompletableFuture<EmployeeSearch> fetchEmployeeNamesAsync(String searchTerm) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(API_URL + URLEncoder.encode(searchTerm, StandardCharsets.UTF_8)))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .header("Accept", "application/json")
+                .header("Accept-Language", "en-US,en;q=0.9")
+                .header("Cache-Control", "no-store, no-cache, must-revalidate, post-check=0, pre-check=0")
+                .header("DNT", "1")
+                .header("Referer", BASE_URL + "/web/index.php/admin/saveSystemUser")
+                .header("Sec-Fetch-Dest", "empty")
+                .header("Sec-Fetch-Mode", "cors")
+                .header("Sec-Fetch-Site", "same-origin")
+                .header("User-Agent", "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/133.0.0.0 Safari/537.36")
+                .header("sec-ch-ua", "\"Chromium\";v=\"133\", \"Not(A:Brand\";v=\"99\"")
+                .header("sec-ch-ua-mobile", "?0")
+                .header("sec-ch-ua-platform", "\"macOS\"")
+                // Add cookie for authentication (this is a demo site, so using a fixed cookie)
+                .header("Cookie", "orangehrm=k11d8qi45baciiok2ngh9slvsk")
+                .build();
         
-        try {
-            URL url = new URL(API_URL + searchTerm);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            
-            // Set request properties
-            connection.setRequestMethod("GET");
-            connection.setRequestProperty("Accept", "application/json");
-            connection.setRequestProperty("Accept-Language", "en-US,en;q=0.9");
-            connection.setRequestProperty("Cache-Control", "no-store, no-cache, must-revalidate, post-check=0, pre-check=0");
-            connection.setRequestProperty("Connection", "keep-alive");
-            connection.setRequestProperty("DNT", "1");
-            connection.setRequestProperty("Referer", "https://opensource-demo.orangehrmlive.com/web/index.php/admin/saveSystemUser");
-            connection.setRequestProperty("Sec-Fetch-Dest", "empty");
-            connection.setRequestProperty("Sec-Fetch-Mode", "cors");
-            connection.setRequestProperty("Sec-Fetch-Site", "same-origin");
-            connection.setRequestProperty("User-Agent", "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/133.0.0.0 Safari/537.36");
-            connection.setRequestProperty("sec-ch-ua", "\"Chromium\";v=\"133\", \"Not(A:Brand\";v=\"99\"");
-            connection.setRequestProperty("sec-ch-ua-mobile", "?0");
-            connection.setRequestProperty("sec-ch-ua-platform", "\"macOS\"");
-            
-            // Add cookie for authentication (this is a demo site, so using a fixed cookie)
-            connection.setRequestProperty("Cookie", "orangehrm=k11d8qi45baciiok2ngh9slvsk");
-            
-            // Get response
-            int responseCode = connection.getResponseCode();
-            
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                String inputLine;
-                StringBuilder response = new StringBuilder();
-                
-                while ((inputLine = in.readLine()) != null) {
-                    response.append(inputLine);
-                }
-                in.close();
-                
-                // Log the response for debugging
-                String responseStr = response.toString();
-                Allure.addAttachment("API Response for " + searchTerm, responseStr);
-                
-                // Parse JSON response
-                JSONObject jsonResponse = new JSONObject(responseStr);
-                JSONArray data = jsonResponse.getJSONArray("data");
-                
-                for (int i = 0; i < data.length(); i++) {
-                    JSONObject employee = data.getJSONObject(i);
-                    
-                    // Handle different response formats - check if firstName is a string or object
-                    String firstName = "";
-                    String lastName = "";
-                    String middleName = "";
-                    
-                    try {
-                        // Try to get firstName as a string (new format)
-                        if (employee.has("firstName") && !employee.isNull("firstName")) {
-                            if (employee.get("firstName") instanceof String) {
-                                firstName = employee.getString("firstName");
-                            } else if (employee.get("firstName") instanceof JSONObject) {
-                                firstName = employee.getJSONObject("firstName").getString("name");
-                            }
+        return HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(response -> {
+                    try (InputStream body = response.body()) {
+                        if (response.statusCode() != 200) {
+                            return new EmployeeSearch(searchTerm, List.<String>of(), "Response code: " + response.statusCode());
                         }
-                        
-                        // Try to get lastName as a string (new format)
-                        if (employee.has("lastName") && !employee.isNull("lastName")) {
-                            if (employee.get("lastName") instanceof String) {
-                                lastName = employee.getString("lastName");
-                            } else if (employee.get("lastName") instanceof JSONObject) {
-                                lastName = employee.getJSONObject("lastName").getString("name");
-                            }
-                        }
-                        
-                        // Try to get middleName as a string (new format)
-                        if (employee.has("middleName") && !employee.isNull("middleName")) {
-                            if (employee.get("middleName") instanceof String) {
-                                middleName = employee.getString("middleName");
-                            } else if (employee.get("middleName") instanceof JSONObject) {
-                                middleName = employee.getJSONObject("middleName").getString("name");
-                            }
-                        }
-                        
-                        String fullName = middleName.isEmpty() ? 
-                            firstName + " " + lastName : 
-                            firstName + " " + middleName + " " + lastName;
-                        
-                        employeeNames.add(fullName);
-                    } catch (Exception e) {
-                        Allure.addAttachment("Employee Parsing Error", 
-                            "Error parsing employee data: " + e.getMessage() + "\n" +
-                            "Employee JSON: " + employee.toString());
+                        List<String> employeeNames = new ArrayList<>();
+                        streamEmployeeNames(body, employeeNames::add);
+                        return new EmployeeSearch(searchTerm, employeeNames, null);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    return new EmployeeSearch(searchTerm, List.of(), String.valueOf(cause.getMessage()));
+                });
+    }
+    
+    /**
+     * Merges the names of several searches in order
+     * @return The merged names, or the fallback list if no search found any
+     */
+    public static List<String> namesOrFallback(List<EmployeeSearch> searches) {
+        List<String> employeeNames = new ArrayList<>();
+        for (EmployeeSearch search : searches) {
+            employeeNames.addAll(search.getNames());
+        }
+        return employeeNames.isEmpty() ? new ArrayList<>(FALLBACK_EMPLOYEES) : employeeNames;
+    }
+    
+    /**
+     * Reads employee names straight from a response body as the records arrive,
+     * without materialising the whole body or a JSON tree.
+     * Name fields may be plain strings or objects with a "name" field; other
+     * fields and the "meta" block are skipped. A record that is not an object or
+     * lacks a first or last name is skipped and the rest of the page is still read.
+     * The reader cannot resume after a syntax error, so a broken record ends the
+     * page, but the names read before it are kept.
+     * @param body The response body, closed when done
+     * @param sink Receives each full name in response order
+     * @return The number of names emitted
+     */
+    static int streamEmployeeNames(InputStream body, Consumer<String> sink) throws IOException {
+        int count = 0;
+        int skipped = 0;
+        try (JsonInput input = JSON.newInput(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)))) {
+            input.beginObject();
+            while (input.hasNext()) {
+                if (!"data".equals(input.nextName()) || input.peek() != JsonType.START_COLLECTION) {
+                    input.skipValue();
+                    continue;
+                }
+                input.beginArray();
+                while (input.hasNext()) {
+                    String fullName = readEmployeeName(input);
+                    if (fullName != null) {
+                        sink.accept(fullName);
+                        count++;
+                    } else {
+                        skipped++;
                     }
                 }
-            } else {
-                Allure.addAttachment("API Error", "Response code: " + responseCode);
+                input.endArray();
+            }
+            input.endObject();
+        } catch (JsonException e) {
+            // The message goes on with build and system info, the first line says what broke
+            System.err.println("Stopped reading employee names after " + count + " records: " + e.getMessage().lines().findFirst().orElse(""));
+        }
+        if (skipped > 0) {
+            System.err.println("Skipped " + skipped + " malformed employee records");
+        }
+        return count;
+    }
+    
+    /**
+     * @return The full name of the record, or null if the record is not an employee with a first and last name
+     */
+    private static String readEmployeeName(JsonInput input) {
+        if (input.peek() != JsonType.START_MAP) {
+            input.skipValue();
+            return null;
+        }
+        String firstName = "";
+        String middleName = "";
+        String lastName = "";
+        input.beginObject();
+        while (input.hasNext()) {
+            switch (input.nextName()) {
+                case "firstName":
+                    firstName = readName(input);
+                    break;
+                case "middleName":
+                    middleName = readName(input);
+                    break;
+                case "lastName":
+                    lastName = readName(input);
+                    break;
+                default:
+                    input.skipValue();
             }
-        } catch (Exception e) {
-            Allure.addAttachment("API Exception", e.getMessage());
-            System.err.println("Error fetching employee names: " + e.getMessage());
         }
+        input.endObject();
         
-        // If API call failed, return fallback list
-        if (employeeNames.isEmpty()) {
-            Allure.addAttachment("API Fallback", "Using fallback employee list due to API failure");
-            return new ArrayList<>(FALLBACK_EMPLOYEES);
+        if (firstName.isBlank() || lastName.isBlank()) {
+            return null;
+        }
+        return middleName.isEmpty() ?
+            firstName + " " + lastName :
+            firstName + " " + middleName + " " + lastName;
+    }
+    
+    // Handle different response formats - a name is either a string or an object with a "name" field
+    private static String readName(JsonInput input) {
+        switch (input.peek()) {
+            case STRING:
+                return input.nextString();
+            case START_MAP:
+                String name = "";
+                input.beginObject();
+                while (input.hasNext()) {
+                    if ("name".equals(input.nextName()) && input.peek() == JsonType.STRING) {
+                        name = input.nextString();
+                    } else {
+                        input.skipValue();
+                    }
+                }
+                input.endObject();
+                return name;
+            default:
+                input.skipValue();
+                return "";
         }
+    }
+    
+    private static List<String> attachAndMerge(List<EmployeeSearch> searches) {
+        searches.forEach(EmployeeSearch::attach);
+        // If every API call failed, return fallback list
+        if (searches.stream().allMatch(search -> search.getNames().isEmpty())) {
+            Attachments.text("API Fallback", "Using fallback employee list due to API failure");
+        }
+        return namesOrFallback(searches);
+    }
+    
+    /**
+     * Creates an employee without blocking the caller, as the default admin
+     * @param firstName The first name
+     * @param lastName The last name
+     * @return A future of the employee number
+     */
+    public static CompletableFuture<Integer> createEmployeeAsync(String firstName, String lastName) {
+        String body = JSON.toJson(Map.of("firstName", firstName, "middleName", "", "lastName", lastName));
+        HttpRequest request = adminRequest(EMPLOYEES_URL)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
         
-        return employeeNames;
+        return HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Failed to create employee " + firstName + " " + lastName
+                                + ": " + response.statusCode());
+                    }
+                    Map<String, Object> json = JSON.toType(response.body(), Json.MAP_TYPE);
+                    return ((Number) ((Map<?, ?>) json.get("data")).get("empNumber")).intValue();
+                });
     }
     
     /**
-     * Gets a random employee name from the API
+     * Looks up the name of an employee without blocking the caller, as the default admin
+     * @param empNumber The employee number
+     * @return A future of the first and last name, or null if there is no such employee
+     */
+    public static CompletableFuture<String> findEmployeeNameAsync(int empNumber) {
+        HttpRequest request = adminRequest(EMPLOYEES_URL + "/" + empNumber)
+                .GET()
+                .build();
+        
+        return HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    // OrangeHRM answers unknown employee numbers with 404 or 422
+                    if (response.statusCode() == 404 || response.statusCode() == 422) {
+                        return null;
+                    }
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Failed to look up employee " + empNumber + ": " + response.statusCode());
+                    }
+                    Map<String, Object> json = JSON.toType(response.body(), Json.MAP_TYPE);
+                    Map<?, ?> data = (Map<?, ?>) json.get("data");
+                    return data.get("firstName") + " " + data.get("lastName");
+                });
+    }
+    
+    /**
+     * Deletes employees in a single request, as the default admin
+     * @param empNumbers The employee numbers of the employees to delete
+     */
+    public static void deleteEmployees(List<Integer> empNumbers) {
+        delete(EMPLOYEES_URL, empNumbers, "employees");
+    }
+    
+    /**
+     * Looks up the ID of a user without blocking the caller, as the default admin
+     * @param username The exact username
+     * @return A future of the user ID, or null if there is no such user
+     */
+    public static CompletableFuture<Integer> findUserIdAsync(String username) {
+        HttpRequest request = adminRequest(USERS_URL + "?limit=50&username=" + URLEncoder.encode(username, StandardCharsets.UTF_8))
+                .GET()
+                .build();
+        
+        return HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Failed to look up user " + username + ": " + response.statusCode());
+                    }
+                    Map<String, Object> json = JSON.toType(response.body(), Json.MAP_TYPE);
+                    for (Object user : (List<?>) json.get("data")) {
+                        Map<?, ?> fields = (Map<?, ?>) user;
+                        if (username.equals(fields.get("userName"))) {
+                            return ((Number) fields.get("id")).intValue();
+                        }
+                    }
+                    return null;
+                });
+    }
+    
+    /**
+     * Deletes users in a single request, as the default admin
+     * @param ids The IDs of the users to delete
+     */
+    public static void deleteUsers(List<Integer> ids) {
+        delete(USERS_URL, ids, "users");
+    }
+    
+    static String baseUrl() {
+        return BASE_URL;
+    }
+    
+    private static void delete(String url, List<Integer> ids, String what) {
+        HttpRequest request = adminRequest(url)
+                .header("Content-Type", "application/json")
+                .method("DELETE", HttpRequest.BodyPublishers.ofString(JSON.toJson(Map.of("ids", ids))))
+                .build();
+        
+        try {
+            HttpResponse<Void> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Failed to delete " + what + " " + ids + ": " + response.statusCode());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while deleting " + what, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    // Writes need a real session rather than the fixed demo cookie used for searches
+    private static HttpRequest.Builder adminRequest(String url) {
+        String cookie = SessionLogin.sessionCookie(BASE_URL, SessionLogin.DEFAULT_USERNAME, SessionLogin.DEFAULT_PASSWORD);
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .header("Origin", BASE_URL)
+                .header("Referer", BASE_URL + "/web/index.php/pim/addEmployee")
+                .header("Cookie", SessionLogin.COOKIE_NAME + "=" + cookie);
+    }
+    
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    /**
+     * Gets a random employee name from the prefetched employee index
      * @return A random employee name
      */
-    @Step("Getting random employee name from API")
+    @Step("Getting random employee name from the employee index")
     public static String getRandomEmployeeName() {
-        // Use different search letters to get a variety of employees
-        String[] searchLetters = {"a", "b", "c", "d", "e", "j", "k", "m", "n", "o", "p", "r", "s", "t", "y"};
-        String searchTerm = searchLetters[random.nextInt(searchLetters.length)];
-        
-        List<String> employees = fetchEmployeeNames(searchTerm);
+        EmployeeIndex index = EmployeeIndex.getInstance();
         
-        if (employees.isEmpty()) {
+        if (index.size() == 0) {
             // This shouldn't happen now with the fallback list, but just in case
             return "Charlie Carter";
         }
         
-        return employees.get(random.nextInt(employees.size()));
+        return index.randomName();
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
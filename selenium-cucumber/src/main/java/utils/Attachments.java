@@ -0,0 +1,245 @@
+package utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Adds Allure attachments without writing them on the test thread.
+ * The attachment is registered with the current step right away, so it shows up in
+ * the right place of the report, while the file write happens on a background thread.
+ * Identical payloads are written once and shared, attachments are capped in size and
+ * screenshots are re-encoded as JPEG. The type of a screenshot follows from -Dattachments.jpegQuality
+ * alone, so it is registered before it is encoded and the encoding happens on the writer thread
+ * too; the test thread only hashes the raw bytes. When the queue is full the caller writes the
+ * attachment itself.
+ *
+ * Configuration:
+ * -Dattachments.queueSize    pending writes before callers write inline (default: 256)
+ * -Dattachments.maxBytes     maximum size of one attachment in bytes, text is cut at a character boundary (default: 1048576)
+ * -Dattachments.jpegQuality  JPEG quality of screenshots, 0 keeps them as PNG (default: 0.7)
+ */
+public class Attachments {
+    private static final int MAX_BYTES = Integer.getInteger("attachments.maxBytes", 1024 * 1024);
+    private static final float JPEG_QUALITY = Float.parseFloat(System.getProperty("attachments.jpegQuality", "0.7"));
+
+    private static final ThreadPoolExecutor WRITER = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Integer.getInteger("attachments.queueSize", 256)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "allure-attachment-writer");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    // Content hash to the type and source file it was written as
+    private static final Map<String, Attachment> SOURCES = new ConcurrentHashMap<>();
+    private static final LongAdder WRITTEN = new LongAdder();
+    private static final LongAdder DEDUPLICATED = new LongAdder();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            flush();
+            System.out.println("Attachments: " + WRITTEN.sum() + " written, " + DEDUPLICATED.sum() + " deduplicated");
+        }));
+    }
+
+    /**
+     * Attaches plain text, truncated to the size cap in UTF-8 bytes
+     */
+    public static void text(String name, String content) {
+        byte[] bytes = truncate(String.valueOf(content).getBytes(StandardCharsets.UTF_8));
+        attach(name, "text/plain", "txt", bytes, UnaryOperator.identity());
+    }
+
+    /**
+     * Takes a screenshot and attaches it, if the driver supports screenshots
+     */
+    public static void screenshot(String name, WebDriver driver) {
+        if (driver instanceof TakesScreenshot) {
+            image(name, ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+        }
+    }
+
+    /**
+     * Attaches a PNG image, re-encoded as JPEG on the writer thread unless attachments.jpegQuality is 0
+     */
+    public static void image(String name, byte[] png) {
+        if (JPEG_QUALITY <= 0) {
+            attach(name, "image/png", "png", png, UnaryOperator.identity());
+        } else {
+            attach(name, "image/jpeg", "jpg", png, Attachments::toJpeg);
+        }
+    }
+
+    /**
+     * Waits until all queued attachments are written
+     */
+    public static void flush() {
+        try {
+            // The writer is single threaded, so this runs after everything queued before it
+            WRITER.submit(() -> { }).get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            System.err.println("Error flushing attachments: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Attaches content, encoding and writing it on the writer thread only if the same content was not written before
+     * @param type The MIME type of the attachment once encoded, part of the deduplication key
+     * @param encoder Turns the raw content into the attached content
+     */
+    private static void attach(String name, String type, String extension, byte[] content, UnaryOperator<byte[]> encoder) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String key = type + ":" + sha256(content);
+
+        Attachment existing = SOURCES.get(key);
+        if (existing != null && linkToCurrentStep(lifecycle, name, existing.getType(), existing.getSource())) {
+            DEDUPLICATED.increment();
+            return;
+        }
+
+        String source = lifecycle.prepareAttachment(name, type, extension);
+        SOURCES.putIfAbsent(key, new Attachment().setType(type).setSource(source));
+        WRITTEN.increment();
+        WRITER.execute(() -> {
+            try {
+                lifecycle.writeAttachment(source, new ByteArrayInputStream(encoder.apply(content)));
+            } catch (RuntimeException e) {
+                System.err.println("Error writing attachment " + name + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Adds an attachment pointing at an already written file to the current step.
+     * Only steps can be updated by uuid without knowing their kind, so attachments
+     * made directly on a test case or hook are written again instead.
+     */
+    private static boolean linkToCurrentStep(AllureLifecycle lifecycle, String name, String type, String source) {
+        Optional<String> current = lifecycle.getCurrentTestCaseOrStep();
+        if (current.isEmpty() || current.equals(lifecycle.getCurrentTestCase())) {
+            return false;
+        }
+        lifecycle.updateStep(current.get(), step -> step.getAttachments()
+                .add(new Attachment().setName(name).setType(type).setSource(source)));
+        return true;
+    }
+
+    /**
+     * Cuts UTF-8 text to the size cap, notice included, without splitting a character
+     */
+    private static byte[] truncate(byte[] utf8) {
+        if (utf8.length <= MAX_BYTES) {
+            return utf8;
+        }
+        byte[] notice = ("\n... truncated " + utf8.length + " bytes to " + MAX_BYTES).getBytes(StandardCharsets.UTF_8);
+        int cut = Math.max(0, MAX_BYTES - notice.length);
+        // Continuation bytes look like 10xxxxxx
+        while (cut > 0 && (utf8[cut] & 0xC0) == 0x80) {
+            cut--;
+        }
+        byte[] truncated = Arrays.copyOf(utf8, cut + notice.length);
+        System.arraycopy(notice, 0, truncated, cut, notice.length);
+        return truncated;
+    }
+
+    /**
+     * Re-encodes a PNG screenshot as JPEG. If it cannot be decoded the PNG is kept, which
+     * report viewers still display since browsers sniff the format of images.
+     */
+    private static byte[] toJpeg(byte[] png) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            if (image == null) {
+                return png;
+            }
+            byte[] jpeg = encodeJpeg(image);
+            // Halve the resolution until the image fits the size cap
+            while (jpeg.length > MAX_BYTES && image.getWidth() > 320) {
+                image = scale(image, 0.5);
+                jpeg = encodeJpeg(image);
+            }
+            return jpeg;
+        } catch (IOException e) {
+            System.err.println("Error compressing screenshot: " + e.getMessage());
+            return png;
+        }
+    }
+
+    private static byte[] encodeJpeg(BufferedImage source) throws IOException {
+        // JPEG has no alpha channel
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        graphics.drawImage(source, 0, 0, null);
+        graphics.dispose();
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(Math.min(JPEG_QUALITY, 1f));
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static BufferedImage scale(BufferedImage source, double factor) {
+        int width = (int) (source.getWidth() * factor);
+        int height = (int) (source.getHeight() * factor);
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+        return scaled;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory index of the employee directory.
+ * The directory is fetched once through {@link ApiHelper} and refreshed in the background,
+ * so random picks and autocomplete search terms no longer cost an HTTP call each.
+ * For every employee the index also stores the shortest prefix of the full name that no
+ * other known employee contains, which makes the autocomplete show a single suggestion.
+ *
+ * Configuration:
+ * -Demployee.index.maxSize         maximum number of employees kept (default: 1000)
+ * -Demployee.index.refreshMinutes  background refresh interval (default: 10)
+ */
+public class EmployeeIndex {
+    // Letters searched to enumerate the directory, the API has no "list all" for the autocomplete
+    static final String[] SEARCH_LETTERS = {"a", "b", "c", "d", "e", "j", "k", "m", "n", "o", "p", "r", "s", "t", "y"};
+
+    // The autocomplete needs at least two characters before it searches
+    private static final int MIN_TERM_LENGTH = 2;
+
+    private static volatile EmployeeIndex instance;
+    private static CompletableFuture<EmployeeIndex> loading;
+
+    private final List<String> names;
+    private final Map<String, String> searchTerms;
+
+    private EmployeeIndex(List<String> names) {
+        this.names = Collections.unmodifiableList(names);
+        this.searchTerms = Collections.unmodifiableMap(buildSearchTerms(names));
+    }
+
+    /**
+     * Starts fetching the directory in the background, so it overlaps with browser startup.
+     * Later calls to {@link #getInstance()} wait for this fetch instead of starting another.
+     */
+    public static void prefetch() {
+        synchronized (EmployeeIndex.class) {
+            if (instance == null && loading == null) {
+                loading = loadAsync();
+            }
+        }
+    }
+
+    /**
+     * Returns the index, fetching the directory on first use and scheduling background refreshes
+     */
+    public static EmployeeIndex getInstance() {
+        EmployeeIndex index = instance;
+        if (index == null) {
+            synchronized (EmployeeIndex.class) {
+                index = instance;
+                if (index == null) {
+                    index = (loading != null ? loading : loadAsync()).join();
+                    loading = null;
+                    instance = index;
+                    scheduleRefresh();
+                }
+            }
+        }
+        return index;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Picks a random employee name in O(1)
+     */
+    public String randomName() {
+        return names.get(ThreadLocalRandom.current().nextInt(names.size()));
+    }
+
+    /**
+     * Returns the shortest search term that only matches the given employee,
+     * or the full name if the employee is not indexed or has no unique prefix
+     */
+    public String searchTermFor(String fullName) {
+        return searchTerms.getOrDefault(fullName, fullName);
+    }
+
+    public boolean contains(String fullName) {
+        return searchTerms.containsKey(fullName);
+    }
+
+    private static CompletableFuture<EmployeeIndex> loadAsync() {
+        int maxSize = Integer.getInteger("employee.index.maxSize", 1000);
+        // All letters are requested concurrently, names arrive merged in letter order
+        return ApiHelper.fetchAllEmployeeNamesAsync(SEARCH_LETTERS).thenApply(searches -> {
+            // Runs outside any scenario, so failed searches are logged instead of attached
+            for (ApiHelper.EmployeeSearch search : searches) {
+                search.getError().ifPresent(error -> System.err.println(
+                        "Error fetching employee names for '" + search.getSearchTerm() + "': " + error));
+            }
+            List<String> fetched = ApiHelper.namesOrFallback(searches);
+            Set<String> names = new LinkedHashSet<>();
+            Iterator<String> fetchedNames = fetched.iterator();
+            // The cap is part of the loop condition, so it stops the whole fill
+            while (names.size() < maxSize && fetchedNames.hasNext()) {
+                names.add(fetchedNames.next().trim().replaceAll("\\s+", " "));
+            }
+            return new EmployeeIndex(new ArrayList<>(names));
+        });
+    }
+
+    private static void scheduleRefresh() {
+        long refreshMinutes = Long.getLong("employee.index.refreshMinutes", 10);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-index-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                EmployeeIndex refreshed = loadAsync().join();
+                if (refreshed.size() > 0) {
+                    instance = refreshed;
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Error refreshing employee index: " + e.getMessage());
+            }
+        }, refreshMinutes, refreshMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Finds, for each name, the shortest prefix contained in no other name.
+     * The autocomplete matches substrings, so uniqueness is checked against every
+     * substring of every other name, counted once per name.
+     */
+    private static Map<String, String> buildSearchTerms(List<String> names) {
+        Map<String, Integer> namesContaining = new HashMap<>();
+        for (String name : names) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            Set<String> substrings = new HashSet<>();
+            for (int start = 0; start < lower.length(); start++) {
+                for (int end = start + MIN_TERM_LENGTH; end <= lower.length(); end++) {
+                    substrings.add(lower.substring(start, end));
+                }
+            }
+            for (String substring : substrings) {
+                namesContaining.merge(substring, 1, Integer::sum);
+            }
+        }
+
+        Map<String, String> searchTerms = new HashMap<>();
+        for (String name : names) {
+            searchTerms.put(name, shortestUniquePrefix(name, namesContaining));
+        }
+        return searchTerms;
+    }
+
+    /**
+     * @return The shortest prefix of the name contained in no other name, or the full name if there is none
+     */
+    private static String shortestUniquePrefix(String name, Map<String, Integer> namesContaining) {
+        for (int length = MIN_TERM_LENGTH; length <= name.length(); length++) {
+            String prefix = name.substring(0, length);
+            if (!prefix.endsWith(" ") && namesContaining.getOrDefault(prefix.toLowerCase(Locale.ROOT), 0) == 1) {
+                return prefix;
+            }
+        }
+        return name;
+    }
+}
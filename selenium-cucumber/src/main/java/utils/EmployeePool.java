@@ -0,0 +1,290 @@
+package utils;
+
+import com.orangehrm.commons.UniqueIds;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Suite-level pool of employees created for the scenarios, so parallel scenarios
+ * never pick the same employee and each name matches a single autocomplete suggestion.
+ * The pool is filled in the background before the first scenario and scenarios lease
+ * employees from a blocking queue. Employees left at the end of the run are recorded
+ * and reused by the next run against the same site if they can still be found.
+ * Mirrors the REST module's FixturePool, which pairs each employee with a user.
+ *
+ * Configuration:
+ * -Demployee.pool.size          employees created before the scenarios (default: 4)
+ * -Demployee.pool.leaseTimeout  seconds a lease waits for a free employee (default: 60)
+ * -Demployee.pool.state         state file of the employees to recycle, outside target so mvn clean keeps it
+ *                               (default: ~/.cache/selenium-cucumber/employee-pool-<site>.json)
+ * -Demployee.pool.recycle       keep the employees for the next run (default: true)
+ */
+public class EmployeePool {
+    private static final String FIRST_NAME = "Fixture";
+    private static final Json JSON = new Json();
+
+    private static CompletableFuture<EmployeePool> loading;
+
+    private final int size;
+    private final long leaseTimeoutSeconds;
+    private final Path stateFile;
+    private final boolean recycle;
+    private final BlockingQueue<Employee> available = new LinkedBlockingQueue<>();
+    private final Map<String, Employee> owned = new ConcurrentHashMap<>();
+    private final AtomicReference<String> fillSummary = new AtomicReference<>();
+
+    /**
+     * An employee created for the pool
+     */
+    public static class Employee {
+        private final int empNumber;
+        private final String fullName;
+
+        Employee(int empNumber, String fullName) {
+            this.empNumber = empNumber;
+            this.fullName = fullName;
+        }
+
+        public int getEmpNumber() {
+            return empNumber;
+        }
+
+        public String getFullName() {
+            return fullName;
+        }
+    }
+
+    private EmployeePool(int size, long leaseTimeoutSeconds, Path stateFile, boolean recycle) {
+        this.size = size;
+        this.leaseTimeoutSeconds = leaseTimeoutSeconds;
+        this.stateFile = stateFile;
+        this.recycle = recycle;
+    }
+
+    /**
+     * Starts filling the pool in the background, so it overlaps with browser startup
+     */
+    public static synchronized void prefetch() {
+        if (loading == null) {
+            EmployeePool pool = new EmployeePool(
+                    Integer.getInteger("employee.pool.size", 4),
+                    Long.getLong("employee.pool.leaseTimeout", 60),
+                    Paths.get(System.getProperty("employee.pool.state", defaultStateFile().toString())),
+                    Boolean.parseBoolean(System.getProperty("employee.pool.recycle", "true")));
+            loading = CompletableFuture.supplyAsync(pool::fill).thenApply(summary -> {
+                pool.fillSummary.set(summary);
+                return pool;
+            });
+        }
+    }
+
+    /**
+     * One state file per site, so runs against the demo site and a local instance do not overwrite each other
+     */
+    private static Path defaultStateFile() {
+        URI site = URI.create(ApiHelper.baseUrl());
+        String name = site.getHost() + (site.getPort() == -1 ? "" : "_" + site.getPort());
+        return Paths.get(System.getProperty("user.home"), ".cache", "selenium-cucumber", "employee-pool-" + name + ".json");
+    }
+
+    /**
+     * Returns the pool, waiting for it to be filled
+     */
+    public static EmployeePool getInstance() {
+        CompletableFuture<EmployeePool> pool;
+        synchronized (EmployeePool.class) {
+            prefetch();
+            pool = loading;
+        }
+        return pool.join();
+    }
+
+    /**
+     * Records or deletes the remaining employees, see employee.pool.recycle
+     */
+    public static synchronized void shutdown() {
+        if (loading != null) {
+            loading.join().close();
+            loading = null;
+        }
+    }
+
+    /**
+     * Takes an employee out of the pool, waiting for one to be released if all are leased
+     * @return The employee, or empty if the pool could not create any employees
+     */
+    public Optional<Employee> lease() {
+        if (owned.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            Employee employee = available.poll(leaseTimeoutSeconds, TimeUnit.SECONDS);
+            if (employee == null) {
+                throw new IllegalStateException("No pooled employee became available within "
+                        + leaseTimeoutSeconds + " s, the pool holds " + owned.size() + " employees");
+            }
+            return Optional.of(employee);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled employee", e);
+        }
+    }
+
+    /**
+     * Returns a leased employee to the pool
+     */
+    public void release(Employee employee) {
+        if (owned.get(employee.fullName) == employee) {
+            available.add(employee);
+        }
+    }
+
+    /**
+     * Returns how the pool was filled on the first call and empty afterwards, so the
+     * first scenario can attach it to its report. The pool is filled on a background
+     * thread, which has no report to attach to.
+     */
+    public Optional<String> takeFillSummary() {
+        return Optional.ofNullable(fillSummary.getAndSet(null));
+    }
+
+    /**
+     * @return Whether the name belongs to an employee created for the pool
+     */
+    public boolean contains(String fullName) {
+        return owned.containsKey(fullName);
+    }
+
+    /**
+     * @return A summary of the recycled, created and failed employees
+     */
+    private String fill() {
+        List<Employee> recycled = recycle ? recycledEmployees() : new ArrayList<>();
+        List<CompletableFuture<Employee>> created = new ArrayList<>();
+        for (int i = recycled.size(); i < size; i++) {
+            String lastName = UniqueIds.next();
+            created.add(ApiHelper.createEmployeeAsync(FIRST_NAME, lastName)
+                    .thenApply(empNumber -> new Employee(empNumber, FIRST_NAME + " " + lastName)));
+        }
+
+        for (Employee employee : recycled) {
+            add(employee);
+        }
+        int failures = 0;
+        for (CompletableFuture<Employee> future : created) {
+            try {
+                add(future.join());
+            } catch (CompletionException e) {
+                failures++;
+                System.err.println("Error creating pooled employee: " + e.getCause().getMessage());
+            }
+        }
+        return owned.size() + " employees (" + recycled.size() + " recycled, "
+                + (created.size() - failures) + " created, " + failures + " failed)";
+    }
+
+    private void add(Employee employee) {
+        owned.put(employee.fullName, employee);
+        available.add(employee);
+    }
+
+    /**
+     * Reads the employees recorded by the previous run and keeps those that still exist
+     * under their recorded name, each looked up by its employee number
+     */
+    private List<Employee> recycledEmployees() {
+        List<Employee> recorded = readState();
+        Map<Employee, CompletableFuture<String>> lookups = new LinkedHashMap<>();
+        for (Employee employee : recorded) {
+            lookups.put(employee, ApiHelper.findEmployeeNameAsync(employee.empNumber));
+        }
+        List<Employee> alive = new ArrayList<>();
+        for (Map.Entry<Employee, CompletableFuture<String>> lookup : lookups.entrySet()) {
+            Employee employee = lookup.getKey();
+            try {
+                if (employee.fullName.equals(lookup.getValue().join()) && alive.size() < size) {
+                    alive.add(employee);
+                }
+            } catch (CompletionException e) {
+                System.err.println("Error looking up pooled employee " + employee.empNumber + ": " + e.getCause().getMessage());
+            }
+        }
+        return alive;
+    }
+
+    private List<Employee> readState() {
+        List<Employee> employees = new ArrayList<>();
+        if (!Files.isRegularFile(stateFile)) {
+            return employees;
+        }
+        try {
+            Map<String, Object> state = JSON.toType(Files.readString(stateFile), Json.MAP_TYPE);
+            if (!ApiHelper.baseUrl().equals(state.get("baseUrl")) || !(state.get("employees") instanceof List)) {
+                return employees;
+            }
+            for (Object entry : (List<?>) state.get("employees")) {
+                Map<?, ?> employee = (Map<?, ?>) entry;
+                employees.add(new Employee(((Number) employee.get("empNumber")).intValue(),
+                        (String) employee.get("fullName")));
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading employee pool state: " + e.getMessage());
+        }
+        return employees;
+    }
+
+    private void close() {
+        List<Employee> remaining = new ArrayList<>(owned.values());
+        owned.clear();
+        available.clear();
+
+        List<Map<String, Object>> recorded = new ArrayList<>();
+        if (recycle) {
+            for (Employee employee : remaining) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("empNumber", employee.empNumber);
+                entry.put("fullName", employee.fullName);
+                recorded.add(entry);
+            }
+        } else if (!remaining.isEmpty()) {
+            List<Integer> empNumbers = new ArrayList<>();
+            for (Employee employee : remaining) {
+                empNumbers.add(employee.empNumber);
+            }
+            try {
+                ApiHelper.deleteEmployees(empNumbers);
+            } catch (RuntimeException e) {
+                System.err.println("Error deleting pooled employees: " + e.getMessage());
+            }
+        }
+
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("baseUrl", ApiHelper.baseUrl());
+        state.put("employees", recorded);
+        try {
+            if (stateFile.getParent() != null) {
+                Files.createDirectories(stateFile.getParent());
+            }
+            Files.writeString(stateFile, JSON.toJson(state));
+        } catch (IOException e) {
+            System.err.println("Error writing employee pool state: " + e.getMessage());
+        }
+    }
+}
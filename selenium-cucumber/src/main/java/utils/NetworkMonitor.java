@@ -0,0 +1,133 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.ui.FluentWait;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the browser's network activity through Chrome DevTools network events,
+ * so page objects can wait for a specific XHR to finish instead of sleeping.
+ * Uses the raw CDP event names, which keeps it independent of the Chrome version.
+ * Drivers without DevTools support get a monitor whose waits return immediately,
+ * leaving the callers' element waits as the only synchronisation.
+ */
+public class NetworkMonitor {
+    private static final Map<WebDriver, NetworkMonitor> MONITORS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final boolean available;
+    private final Map<String, String> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> completedByUrl = new ConcurrentHashMap<>();
+    private final AtomicLong lastActivity = new AtomicLong(System.nanoTime());
+
+    private NetworkMonitor(WebDriver driver) {
+        this.available = driver instanceof HasDevTools && attach(((HasDevTools) driver).getDevTools());
+    }
+
+    /**
+     * Returns the monitor for a driver, attaching to its DevTools session on first use
+     */
+    public static NetworkMonitor forDriver(WebDriver driver) {
+        return MONITORS.computeIfAbsent(driver, NetworkMonitor::new);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Number of finished requests whose URL contains the fragment.
+     * Take this before triggering a request and pass it to {@link #waitForCompletion}.
+     */
+    public long completedCount(String urlFragment) {
+        long count = 0;
+        for (Map.Entry<String, AtomicLong> entry : completedByUrl.entrySet()) {
+            if (entry.getKey().contains(urlFragment)) {
+                count += entry.getValue().get();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Number of requests whose URL contains the fragment that have not finished yet
+     */
+    public long inFlightCount(String urlFragment) {
+        return inFlight.values().stream().filter(url -> url.contains(urlFragment)).count();
+    }
+
+    /**
+     * Waits until a request matching the fragment has finished since the given count
+     * and no further matching request is still in flight
+     */
+    public void waitForCompletion(String urlFragment, long previousCount, Duration timeout) {
+        if (!available) {
+            return;
+        }
+        newWait(timeout).withMessage("request to " + urlFragment + " to finish")
+                .until(monitor -> monitor.completedCount(urlFragment) > previousCount
+                        && monitor.inFlightCount(urlFragment) == 0);
+    }
+
+    /**
+     * Waits until no request matching the fragment is in flight and the network
+     * has been quiet for the given period
+     */
+    public void waitForIdle(String urlFragment, Duration quietPeriod, Duration timeout) {
+        if (!available) {
+            return;
+        }
+        newWait(timeout).withMessage("network to be idle for " + urlFragment)
+                .until(monitor -> monitor.inFlightCount(urlFragment) == 0
+                        && System.nanoTime() - monitor.lastActivity.get() >= quietPeriod.toNanos());
+    }
+
+    private FluentWait<NetworkMonitor> newWait(Duration timeout) {
+        return new FluentWait<>(this).withTimeout(timeout).pollingEvery(Duration.ofMillis(25));
+    }
+
+    private boolean attach(DevTools devTools) {
+        try {
+            devTools.createSessionIfThereIsNotOne();
+            devTools.send(new Command<Void>("Network.enable", Map.of()));
+            devTools.addListener(event("Network.requestWillBeSent"), params -> {
+                Object request = params.get("request");
+                if (request instanceof Map) {
+                    inFlight.put((String) params.get("requestId"), String.valueOf(((Map<?, ?>) request).get("url")));
+                }
+                lastActivity.set(System.nanoTime());
+            });
+            devTools.addListener(event("Network.loadingFinished"), this::finished);
+            devTools.addListener(event("Network.loadingFailed"), this::finished);
+            return true;
+        } catch (RuntimeException e) {
+            System.out.println("WARNING: DevTools network monitoring unavailable: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void finished(Map<String, Object> params) {
+        String url = inFlight.remove((String) params.get("requestId"));
+        if (url != null) {
+            // Query strings differ per search term, count by path only
+            int query = url.indexOf('?');
+            String path = query < 0 ? url : url.substring(0, query);
+            completedByUrl.computeIfAbsent(path, key -> new AtomicLong()).incrementAndGet();
+        }
+        lastActivity.set(System.nanoTime());
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+}
@@ -0,0 +1,248 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Lightweight browser mode: intercepts requests through the Chrome DevTools Fetch domain,
+ * failing the resource types and URL patterns none of the page objects need (images,
+ * fonts, third-party assets) and serving JS/CSS bundles from a cache shared by all
+ * pooled browsers, so each bundle is downloaded once per run instead of once per browser.
+ * Only the configured types and patterns are intercepted, the application's XHRs are
+ * never paused. Uses the raw CDP names like {@link NetworkMonitor}.
+ *
+ * Configuration:
+ * -Dbrowser.lite.blockTypes    CDP resource types to block (default: Image,Font,Media)
+ * -Dbrowser.lite.blockUrls     URL patterns to block, * and ? wildcards (default: Google fonts and analytics)
+ * -Dbrowser.lite.cacheBundles  serve scripts and stylesheets from the shared cache (default: true)
+ * -Dbrowser.lite.cacheMaxMb    size limit of the shared cache (default: 64)
+ */
+public class ResourceBlocker {
+    private static final Map<WebDriver, ResourceBlocker> BLOCKERS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Set<String> BUNDLE_TYPES = Set.of("Script", "Stylesheet");
+    // Bundle URLs carry a version query string, so a cached body never outlives its release
+    private static final Map<String, CachedResponse> BUNDLES = new ConcurrentHashMap<>();
+    private static final AtomicLong BUNDLE_BYTES = new AtomicLong();
+    private static final Set<String> DROPPED_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding");
+
+    private final Set<String> blockedTypes;
+    private final List<String> blockedUrls;
+    private final List<Pattern> blockedUrlRegexes;
+    private final boolean cacheBundles;
+    private final long cacheMaxBytes;
+    private final Map<String, LongAdder> blocked = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    private static class CachedResponse {
+        private final List<Map<String, String>> headers;
+        private final String base64Body;
+        private final int size;
+
+        CachedResponse(List<Map<String, String>> headers, String base64Body, int size) {
+            this.headers = headers;
+            this.base64Body = base64Body;
+            this.size = size;
+        }
+    }
+
+    private ResourceBlocker(Set<String> blockedTypes, List<String> blockedUrls, boolean cacheBundles, long cacheMaxBytes) {
+        this.blockedTypes = blockedTypes;
+        this.blockedUrls = blockedUrls;
+        this.blockedUrlRegexes = blockedUrls.stream().map(ResourceBlocker::globToRegex).collect(Collectors.toList());
+        this.cacheBundles = cacheBundles;
+        this.cacheMaxBytes = cacheMaxBytes;
+    }
+
+    /**
+     * Starts intercepting the driver's requests with the configured rules.
+     * Drivers without DevTools support are left untouched.
+     */
+    public static void attach(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            System.out.println("WARNING: Lightweight browser mode needs DevTools, loading all resources");
+            return;
+        }
+        ResourceBlocker blocker = new ResourceBlocker(
+                new LinkedHashSet<>(split(System.getProperty("browser.lite.blockTypes", "Image,Font,Media"))),
+                split(System.getProperty("browser.lite.blockUrls",
+                        "*://fonts.googleapis.com/*,*://fonts.gstatic.com/*,*google-analytics.com/*,*googletagmanager.com/*")),
+                Boolean.parseBoolean(System.getProperty("browser.lite.cacheBundles", "true")),
+                Long.getLong("browser.lite.cacheMaxMb", 64) * 1024 * 1024);
+        if (blocker.enable(((HasDevTools) driver).getDevTools())) {
+            BLOCKERS.put(driver, blocker);
+        }
+    }
+
+    /**
+     * Summarises what was blocked and served from cache since the last call and resets the counts
+     * @return The summary, or empty if the driver is not in lightweight mode
+     */
+    public static Optional<String> takeSummary(WebDriver driver) {
+        ResourceBlocker blocker = BLOCKERS.get(driver);
+        if (blocker == null) {
+            return Optional.empty();
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        blocker.blocked.forEach((reason, count) -> counts.put(reason, count.sumThenReset()));
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        long hits = blocker.cacheHits.sumThenReset();
+        long saved = blocker.bytesSaved.sumThenReset();
+        return Optional.of("Blocked " + total + " requests " + counts
+                + "\nServed " + hits + " bundles from cache, " + saved / 1024 + " KB not downloaded"
+                + "\nShared bundle cache: " + BUNDLES.size() + " entries, " + BUNDLE_BYTES.get() / 1024 + " KB");
+    }
+
+    private boolean enable(DevTools devTools) {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String type : blockedTypes) {
+            patterns.add(Map.of("resourceType", type, "requestStage", "Request"));
+        }
+        for (String url : blockedUrls) {
+            patterns.add(Map.of("urlPattern", url, "requestStage", "Request"));
+        }
+        if (cacheBundles) {
+            // Paused before the request to serve from cache, and after the response to fill the cache
+            for (String type : BUNDLE_TYPES) {
+                patterns.add(Map.of("resourceType", type, "requestStage", "Request"));
+                patterns.add(Map.of("resourceType", type, "requestStage", "Response"));
+            }
+        }
+        try {
+            devTools.createSessionIfThereIsNotOne();
+            devTools.addListener(new Event<Map<String, Object>>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE)),
+                    params -> paused(devTools, params));
+            devTools.send(new Command<Void>("Fetch.enable", Map.of("patterns", patterns)));
+            return true;
+        } catch (RuntimeException e) {
+            System.out.println("WARNING: DevTools request interception unavailable: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void paused(DevTools devTools, Map<String, Object> params) {
+        String requestId = (String) params.get("requestId");
+        Map<?, ?> request = (Map<?, ?>) params.get("request");
+        String url = String.valueOf(request.get("url"));
+        String type = String.valueOf(params.get("resourceType"));
+        try {
+            if (params.containsKey("responseStatusCode")) {
+                try {
+                    store(devTools, requestId, url, request, params);
+                } catch (RuntimeException e) {
+                    // Left uncached, the response still has to be released below
+                }
+                devTools.send(new Command<Void>("Fetch.continueRequest", Map.of("requestId", requestId)));
+                return;
+            }
+            String reason = blockReason(url, type);
+            if (reason != null) {
+                blocked.computeIfAbsent(reason, key -> new LongAdder()).increment();
+                devTools.send(new Command<Void>("Fetch.failRequest",
+                        Map.of("requestId", requestId, "errorReason", "BlockedByClient")));
+                return;
+            }
+            CachedResponse cached = cacheBundles ? BUNDLES.get(url) : null;
+            if (cached != null) {
+                cacheHits.increment();
+                bytesSaved.add(cached.size);
+                devTools.send(new Command<Void>("Fetch.fulfillRequest", Map.of("requestId", requestId,
+                        "responseCode", 200, "responseHeaders", cached.headers, "body", cached.base64Body)));
+                return;
+            }
+            devTools.send(new Command<Void>("Fetch.continueRequest", Map.of("requestId", requestId)));
+        } catch (RuntimeException e) {
+            // The request is gone when the page navigated away while it was paused
+        }
+    }
+
+    private String blockReason(String url, String type) {
+        if (blockedTypes.contains(type)) {
+            return type;
+        }
+        for (Pattern pattern : blockedUrlRegexes) {
+            if (pattern.matcher(url).matches()) {
+                return "third-party";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Keeps a successful bundle response for the other browsers, while the cache has room
+     */
+    private void store(DevTools devTools, String requestId, String url, Map<?, ?> request, Map<String, Object> params) {
+        Object status = params.get("responseStatusCode");
+        if (!cacheBundles || !BUNDLE_TYPES.contains(String.valueOf(params.get("resourceType")))
+                || !"GET".equals(request.get("method")) || !(status instanceof Number)
+                || ((Number) status).intValue() != 200 || BUNDLES.containsKey(url)
+                || BUNDLE_BYTES.get() >= cacheMaxBytes) {
+            return;
+        }
+        Map<String, Object> body = devTools.send(new Command<>("Fetch.getResponseBody",
+                Map.of("requestId", requestId), input -> input.read(Json.MAP_TYPE)));
+        String content = String.valueOf(body.get("body"));
+        byte[] bytes = Boolean.TRUE.equals(body.get("base64Encoded"))
+                ? Base64.getDecoder().decode(content) : content.getBytes(StandardCharsets.UTF_8);
+
+        // The body is already decoded, so the encoding and length headers no longer apply
+        List<Map<String, String>> headers = new ArrayList<>();
+        Object responseHeaders = params.get("responseHeaders");
+        if (responseHeaders instanceof List) {
+            for (Object header : (List<?>) responseHeaders) {
+                Map<?, ?> entry = (Map<?, ?>) header;
+                String name = String.valueOf(entry.get("name"));
+                if (!DROPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.add(Map.of("name", name, "value", String.valueOf(entry.get("value"))));
+                }
+            }
+        }
+        if (BUNDLES.putIfAbsent(url, new CachedResponse(headers, Base64.getEncoder().encodeToString(bytes), bytes.length)) == null) {
+            BUNDLE_BYTES.addAndGet(bytes.length);
+        }
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
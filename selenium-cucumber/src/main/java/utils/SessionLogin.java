@@ -0,0 +1,177 @@
+package utils;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Logs in through the HTTP login flow instead of the login form, so a browser
+ * can start on the page under test with the session cookie already set.
+ * Follows the same steps as the REST module's AuthenticationUtil: load the login
+ * page for its token, post the credentials and follow the redirect to the dashboard.
+ * Sessions are cached per site and user for a few minutes and shared by all browsers.
+ *
+ * Configuration:
+ * -Dfast.login   log in through HTTP for scenarios not tagged @login (default: true)
+ */
+public class SessionLogin {
+    public static final String COOKIE_NAME = "orangehrm";
+    public static final String COOKIE_PATH = "/web";
+    public static final String LOGIN_PATH = "/web/index.php/auth/login";
+    public static final String DASHBOARD_PATH = "/web/index.php/dashboard/index";
+    private static final String VALIDATE_PATH = "/web/index.php/auth/validate";
+
+    // Default credentials of the demo site
+    public static final String DEFAULT_USERNAME = "Admin";
+    public static final String DEFAULT_PASSWORD = "admin123";
+
+    private static final Pattern TOKEN_PATTERN = Pattern.compile(":token=\"&quot;([^&]+)&quot;\"");
+    private static final Duration SESSION_TTL = Duration.ofMinutes(10);
+    private static final String USER_AGENT = "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/133.0.0.0 Safari/537.36";
+
+    // A login in flight or done, completed outside the map so no bin lock is held during I/O
+    private static final Map<String, CompletableFuture<Session>> SESSIONS = new ConcurrentHashMap<>();
+
+    private static class Session {
+        private final String cookie;
+        private final long expiresAt;
+
+        private Session(String cookie) {
+            this.cookie = cookie;
+            this.expiresAt = System.nanoTime() + SESSION_TTL.toNanos();
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+
+    /**
+     * @return Whether scenarios should log in through HTTP instead of the login form
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("fast.login", "true"));
+    }
+
+    /**
+     * Returns a logged-in session cookie, logging in only if no fresh session is cached.
+     * Concurrent callers for the same user wait for a single login.
+     * @param baseUrl The site to log in to, e.g. https://opensource-demo.orangehrmlive.com
+     * @param username The username to log in with
+     * @param password The password to log in with
+     * @return The value of the orangehrm session cookie
+     */
+    public static String sessionCookie(String baseUrl, String username, String password) {
+        String key = baseUrl + "|" + username;
+        CompletableFuture<Session> attempt = new CompletableFuture<>();
+        CompletableFuture<Session> session = SESSIONS.compute(key, (k, current) ->
+                current != null && !isStale(current) ? current : attempt);
+        if (session == attempt) {
+            try {
+                attempt.complete(new Session(login(baseUrl, username, password)));
+            } catch (RuntimeException e) {
+                // Waiting callers fail with this error, later callers try again
+                SESSIONS.remove(key, attempt);
+                attempt.completeExceptionally(e);
+            }
+        }
+        try {
+            return session.join().cookie;
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Drops a cached session, e.g. after the site rejected it
+     */
+    public static void invalidate(String baseUrl, String username) {
+        SESSIONS.remove(baseUrl + "|" + username);
+    }
+
+    private static boolean isStale(CompletableFuture<Session> session) {
+        return session.isDone() && (session.isCompletedExceptionally() || session.join().isExpired());
+    }
+
+    private static String login(String baseUrl, String username, String password) {
+        CookieManager cookies = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(cookies)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        try {
+            // Get the login page for the initial cookie and the form token
+            HttpResponse<String> loginPage = client.send(request(baseUrl + LOGIN_PATH).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (loginPage.statusCode() != 200) {
+                throw new RuntimeException("Failed to access login page: " + loginPage.statusCode());
+            }
+            Matcher token = TOKEN_PATTERN.matcher(loginPage.body());
+            if (!token.find()) {
+                throw new RuntimeException("No CSRF token found in login page");
+            }
+
+            // A successful login redirects to the dashboard
+            String form = "_token=" + encode(token.group(1))
+                    + "&username=" + encode(username)
+                    + "&password=" + encode(password);
+            HttpResponse<Void> validate = client.send(request(baseUrl + VALIDATE_PATH)
+                            .header("Content-Type", "application/x-www-form-urlencoded")
+                            .header("Origin", baseUrl)
+                            .header("Referer", baseUrl + LOGIN_PATH)
+                            .POST(HttpRequest.BodyPublishers.ofString(form))
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+            String location = validate.headers().firstValue("Location").orElse("");
+            if (validate.statusCode() != 302 || location.contains("/auth/login")) {
+                throw new RuntimeException("Authentication failed: " + validate.statusCode());
+            }
+
+            HttpResponse<Void> dashboard = client.send(request(URI.create(baseUrl + "/").resolve(location).toString()).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (dashboard.statusCode() != 200) {
+                throw new RuntimeException("Failed to follow redirect: " + dashboard.statusCode());
+            }
+
+            for (HttpCookie cookie : cookies.getCookieStore().getCookies()) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+            throw new RuntimeException("No session cookie found in response");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while logging in", e);
+        } catch (IOException e) {
+            throw new RuntimeException("Login request failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
+                .header("Accept-Language", "en-US,en;q=0.9");
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,201 @@
+package utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Records every user the scenarios create through the UI so they can be deleted at the
+ * end of the run, keeping the users table from growing with every run.
+ * A user is recorded by ID once its save is confirmed, so an account the scenario failed
+ * to create, e.g. because the username was already taken, is never touched. Users are kept
+ * in a concurrent map and every change is appended to a journal on disk, so users of a
+ * crashed run are reaped by the next one, after checking that their ID still belongs to
+ * the recorded username. Mirrors the REST module's UserRegistry.
+ *
+ * Configuration:
+ * -Dregistry.file        journal of created and deleted users (default: target/created-users.log)
+ * -Dreaper.concurrency   maximum checks in flight for users of earlier runs (default: 8)
+ * -Dreaper.chunkSize     maximum IDs per delete request (default: 100)
+ */
+public class UserRegistry {
+    private static final Path JOURNAL = Paths.get(System.getProperty("registry.file", "target/created-users.log"));
+
+    // Keyed by site and user ID
+    private static final Map<String, Entry> USERS = load();
+    private static Writer writer;
+
+    private static class Entry {
+        private final String baseUrl;
+        private final int id;
+        private final String username;
+        private final boolean earlierRun;
+
+        Entry(String baseUrl, int id, String username, boolean earlierRun) {
+            this.baseUrl = baseUrl;
+            this.id = id;
+            this.username = username;
+            this.earlierRun = earlierRun;
+        }
+    }
+
+    /**
+     * Records a user whose creation through the UI was confirmed on the configured site
+     * @param id The ID of the created user
+     * @param username The username of the user
+     */
+    public static void record(int id, String username) {
+        String baseUrl = ApiHelper.baseUrl();
+        USERS.put(baseUrl + "\t" + id, new Entry(baseUrl, id, username, false));
+        append("+\t" + baseUrl + "\t" + id + "\t" + username);
+    }
+
+    /**
+     * Deletes every recorded user of the configured site in batches. Users of earlier runs
+     * are only deleted if their ID still belongs to the recorded username, since a reset
+     * site may have given the ID to someone else
+     * @return A summary of what was reclaimed
+     */
+    public static String reap() {
+        long start = System.nanoTime();
+        String baseUrl = ApiHelper.baseUrl();
+        Semaphore inFlight = new Semaphore(Integer.getInteger("reaper.concurrency", 8));
+        Map<Entry, CompletableFuture<Integer>> checks = new LinkedHashMap<>();
+        List<Entry> targets = new ArrayList<>();
+        int recorded = 0;
+
+        for (Entry user : USERS.values()) {
+            if (!user.baseUrl.equals(baseUrl)) {
+                continue;
+            }
+            recorded++;
+            if (!user.earlierRun) {
+                targets.add(user);
+                continue;
+            }
+            inFlight.acquireUninterruptibly();
+            checks.put(user, ApiHelper.findUserIdAsync(user.username)
+                    .whenComplete((id, e) -> inFlight.release()));
+        }
+
+        int fromEarlierRuns = 0;
+        int alreadyGone = 0;
+        int failures = 0;
+        for (Map.Entry<Entry, CompletableFuture<Integer>> check : checks.entrySet()) {
+            Entry user = check.getKey();
+            try {
+                // Only confirms the recorded ID, the user to delete is never taken from the lookup
+                Integer current = check.getValue().join();
+                if (current != null && current == user.id) {
+                    targets.add(user);
+                    fromEarlierRuns++;
+                } else {
+                    alreadyGone++;
+                    forget(user);
+                }
+            } catch (CompletionException e) {
+                failures++;
+            }
+        }
+
+        // Users stay recorded until their batch is deleted, so a failed batch is retried next run
+        int reclaimed = 0;
+        int chunkSize = Integer.getInteger("reaper.chunkSize", 100);
+        for (int from = 0; from < targets.size(); from += chunkSize) {
+            List<Entry> chunk = targets.subList(from, Math.min(from + chunkSize, targets.size()));
+            List<Integer> ids = new ArrayList<>();
+            chunk.forEach(user -> ids.add(user.id));
+            try {
+                ApiHelper.deleteUsers(ids);
+                chunk.forEach(UserRegistry::forget);
+                reclaimed += chunk.size();
+            } catch (RuntimeException e) {
+                failures++;
+                System.err.println("Error reaping users " + ids + ": " + e.getMessage());
+            }
+        }
+        compact();
+
+        String summary = "Reaped " + reclaimed + " of " + recorded + " recorded users ("
+                + fromEarlierRuns + " left by earlier runs, " + alreadyGone + " already gone, "
+                + failures + " failed requests) in " + (System.nanoTime() - start) / 1_000_000 + " ms";
+        System.out.println(summary);
+        return summary;
+    }
+
+    private static void forget(Entry user) {
+        USERS.remove(user.baseUrl + "\t" + user.id);
+    }
+
+    private static Map<String, Entry> load() {
+        Map<String, Entry> users = new ConcurrentHashMap<>();
+        if (!Files.isRegularFile(JOURNAL)) {
+            return users;
+        }
+        try {
+            for (String line : Files.readAllLines(JOURNAL, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                if (fields.length == 4 && fields[0].equals("+")) {
+                    int id = Integer.parseInt(fields[2]);
+                    users.put(fields[1] + "\t" + id, new Entry(fields[1], id, fields[3], true));
+                } else if (fields.length == 3 && fields[0].equals("-")) {
+                    users.remove(fields[1] + "\t" + Integer.parseInt(fields[2]));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Error reading user journal " + JOURNAL + ": " + e.getMessage());
+        }
+        return users;
+    }
+
+    private static synchronized void append(String line) {
+        try {
+            if (writer == null) {
+                if (JOURNAL.getParent() != null) {
+                    Files.createDirectories(JOURNAL.getParent());
+                }
+                writer = Files.newBufferedWriter(JOURNAL, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            // Flushed per line so the journal survives a crashed or killed run
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write user journal " + JOURNAL, e);
+        }
+    }
+
+    /**
+     * Rewrites the journal with only the users still alive
+     */
+    private static synchronized void compact() {
+        try {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+            List<String> lines = new ArrayList<>();
+            USERS.values().forEach(user -> lines.add("+\t" + user.baseUrl + "\t" + user.id + "\t" + user.username));
+            if (JOURNAL.getParent() != null) {
+                Files.createDirectories(JOURNAL.getParent());
+            }
+            Files.write(JOURNAL, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Error compacting user journal " + JOURNAL + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package runners;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Adds the cucumber.json report of the finished run to the scenario duration history,
+ * so the next sharded run can plan with it even after a clean build.
+ * Registered through META-INF/services, see {@link ShardFilter}.
+ */
+public class ScenarioTimingRecorder implements TestExecutionListener {
+    private volatile long startedAt;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        startedAt = System.currentTimeMillis();
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        try {
+            // Only a report written by this run, not one left over from an earlier run
+            if (!Files.isRegularFile(ScenarioTimings.REPORT)
+                    || Files.getLastModifiedTime(ScenarioTimings.REPORT).toMillis() < startedAt) {
+                return;
+            }
+        } catch (IOException e) {
+            return;
+        }
+        ScenarioTimings.update(timings -> {
+            try {
+                timings.ingest(ScenarioTimings.REPORT);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error recording scenario timings: " + e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,269 @@
+package runners;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Rolling history of scenario durations, taken from the cucumber.json reports of earlier runs.
+ * Scenarios are keyed by feature and line ("features/SimpleTest.feature:4") and remember their
+ * name, so a scenario whose line moved is still found. Each scenario keeps its last passing
+ * durations and is estimated by their median. Reports are remembered by hash, so reading the
+ * same report twice does not count it twice.
+ *
+ * Configuration:
+ * -Dshard.history       history file (default: ~/.cache/selenium-cucumber/scenario-timings.json)
+ * -Dshard.historySize   durations kept per scenario (default: 10)
+ */
+public class ScenarioTimings {
+    /** The report written by the json plugin of {@link TestRunner} */
+    static final Path REPORT = Paths.get("target", "cucumber-report", "cucumber.json");
+
+    private static final Json JSON = new Json();
+    private static final int MAX_INGESTED = 100;
+
+    private final int historySize = Integer.getInteger("shard.historySize", 10);
+    private final Map<String, Entry> scenarios = new TreeMap<>();
+    private final LinkedHashSet<String> ingested = new LinkedHashSet<>();
+
+    private static class Entry {
+        private final String name;
+        private final List<Long> durationsMs;
+
+        Entry(String name, List<Long> durationsMs) {
+            this.name = name;
+            this.durationsMs = durationsMs;
+        }
+
+        long medianMs() {
+            List<Long> sorted = new ArrayList<>(durationsMs);
+            sorted.sort(null);
+            return sorted.get(sorted.size() / 2);
+        }
+    }
+
+    /**
+     * Reads the history, or returns an empty one if there is none yet
+     */
+    static ScenarioTimings load() {
+        ScenarioTimings timings = new ScenarioTimings();
+        Path file = historyFile();
+        if (!Files.isRegularFile(file)) {
+            return timings;
+        }
+        try {
+            Map<String, Object> history = JSON.toType(Files.readString(file), Json.MAP_TYPE);
+            Map<?, ?> scenarios = (Map<?, ?>) history.get("scenarios");
+            for (Map.Entry<?, ?> scenario : scenarios.entrySet()) {
+                Map<?, ?> entry = (Map<?, ?>) scenario.getValue();
+                List<Long> durations = new ArrayList<>();
+                for (Object duration : (Collection<?>) entry.get("durationsMs")) {
+                    durations.add(((Number) duration).longValue());
+                }
+                if (!durations.isEmpty()) {
+                    timings.scenarios.put((String) scenario.getKey(), new Entry((String) entry.get("name"), durations));
+                }
+            }
+            for (Object hash : (Collection<?>) history.get("ingested")) {
+                timings.ingested.add((String) hash);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading scenario timings " + file + ": " + e.getMessage());
+        }
+        return timings;
+    }
+
+    /**
+     * Loads, changes and saves the history while holding a file lock, so workers on
+     * the same machine finishing at the same time do not lose each other's timings
+     */
+    static void update(Consumer<ScenarioTimings> change) {
+        Path file = historyFile();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(file.resolveSibling(file.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                ScenarioTimings timings = load();
+                change.accept(timings);
+                timings.save(file);
+            }
+        } catch (IOException e) {
+            System.err.println("Error updating scenario timings " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the passing scenarios of a cucumber.json report to the history
+     * @return Whether the report was new
+     */
+    boolean ingest(Path report) throws IOException {
+        byte[] content = Files.readAllBytes(report);
+        if (!ingested.add(sha256(content))) {
+            return false;
+        }
+        if (ingested.size() > MAX_INGESTED) {
+            ingested.remove(ingested.iterator().next());
+        }
+
+        List<Map<String, Object>> features = JSON.toType(new String(content, StandardCharsets.UTF_8), Json.LIST_OF_MAPS_TYPE);
+        for (Map<String, Object> feature : features) {
+            String uri = normalizeUri(String.valueOf(feature.get("uri")));
+            // The json plugin writes the background as its own element before each scenario
+            long backgroundNanos = 0;
+            boolean backgroundPassed = true;
+            for (Object item : (Collection<?>) feature.getOrDefault("elements", List.of())) {
+                Map<?, ?> element = (Map<?, ?>) item;
+                long[] nanos = {0};
+                boolean passed = sum(element, "before", nanos);
+                passed &= sum(element, "steps", nanos);
+                passed &= sum(element, "after", nanos);
+                if ("background".equals(element.get("type"))) {
+                    backgroundNanos = nanos[0];
+                    backgroundPassed = passed;
+                    continue;
+                }
+                // Failed scenarios stop early, their durations would pull the estimate down
+                if (passed && backgroundPassed) {
+                    record(uri + ":" + ((Number) element.get("line")).intValue(), String.valueOf(element.get("name")),
+                            (nanos[0] + backgroundNanos) / 1_000_000);
+                }
+                backgroundNanos = 0;
+                backgroundPassed = true;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates a scenario from its own history, matched by key or else by a unique name in the same feature
+     */
+    OptionalLong estimateMs(String key, String name) {
+        Entry entry = scenarios.get(key);
+        if (entry == null) {
+            String feature = key.substring(0, key.lastIndexOf(':') + 1);
+            List<Entry> sameName = new ArrayList<>();
+            scenarios.forEach((otherKey, other) -> {
+                if (otherKey.startsWith(feature) && other.name.equals(name)) {
+                    sameName.add(other);
+                }
+            });
+            entry = sameName.size() == 1 ? sameName.get(0) : null;
+        }
+        return entry == null ? OptionalLong.empty() : OptionalLong.of(entry.medianMs());
+    }
+
+    /**
+     * Estimate for scenarios without history: -Dshard.defaultSeconds, else the median
+     * of the known scenarios, else one minute
+     */
+    long defaultEstimateMs() {
+        Long configured = Long.getLong("shard.defaultSeconds");
+        if (configured != null) {
+            return configured * 1000;
+        }
+        if (scenarios.isEmpty()) {
+            return 60_000;
+        }
+        List<Long> estimates = new ArrayList<>();
+        scenarios.values().forEach(entry -> estimates.add(entry.medianMs()));
+        estimates.sort(null);
+        return estimates.get(estimates.size() / 2);
+    }
+
+    static String normalizeUri(String uri) {
+        for (String scheme : new String[]{"classpath:", "file:"}) {
+            if (uri.startsWith(scheme)) {
+                return uri.substring(scheme.length());
+            }
+        }
+        return uri;
+    }
+
+    private void record(String key, String name, long durationMs) {
+        Entry previous = scenarios.get(key);
+        List<Long> durations = previous != null && previous.name.equals(name)
+                ? previous.durationsMs : new ArrayList<>();
+        durations.add(durationMs);
+        while (durations.size() > historySize) {
+            durations.remove(0);
+        }
+        scenarios.put(key, new Entry(name, durations));
+    }
+
+    /**
+     * Adds the durations of a step or hook list to the total
+     * @return Whether all of them passed
+     */
+    private static boolean sum(Map<?, ?> element, String list, long[] nanos) {
+        boolean passed = true;
+        Object items = element.get(list);
+        if (!(items instanceof Collection)) {
+            return true;
+        }
+        for (Object item : (Collection<?>) items) {
+            Map<?, ?> result = (Map<?, ?>) ((Map<?, ?>) item).get("result");
+            if (result == null) {
+                continue;
+            }
+            passed &= "passed".equals(result.get("status"));
+            if (result.get("duration") instanceof Number) {
+                nanos[0] += ((Number) result.get("duration")).longValue();
+            }
+        }
+        return passed;
+    }
+
+    private void save(Path file) throws IOException {
+        Map<String, Object> history = new LinkedHashMap<>();
+        Map<String, Object> entries = new LinkedHashMap<>();
+        scenarios.forEach((key, entry) -> {
+            Map<String, Object> scenario = new LinkedHashMap<>();
+            scenario.put("name", entry.name);
+            scenario.put("durationsMs", entry.durationsMs);
+            entries.put(key, scenario);
+        });
+        history.put("scenarios", entries);
+        history.put("ingested", new ArrayList<>(ingested));
+
+        // Written aside and moved, so a reader never sees half a file
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(temp, JSON.toJson(history));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Path historyFile() {
+        return Paths.get(System.getProperty("shard.history",
+                Paths.get(System.getProperty("user.home"), ".cache", "selenium-cucumber", "scenario-timings.json").toString()));
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
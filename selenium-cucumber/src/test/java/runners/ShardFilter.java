@@ -0,0 +1,219 @@
+package runners;
+
+import io.cucumber.tagexpressions.Expression;
+import io.cucumber.tagexpressions.TagExpressionParser;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClasspathResourceSource;
+import org.junit.platform.engine.support.descriptor.FilePosition;
+import org.junit.platform.engine.support.descriptor.FileSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.junit.platform.suite.api.ConfigurationParameter;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.cucumber.junit.platform.engine.Constants.FILTER_TAGS_PROPERTY_NAME;
+
+/**
+ * Runs one shard of the scenarios when -Dshard.count is set, so several workers (CI jobs or
+ * Maven invocations) can split the suite by expected duration instead of by count.
+ * The scenarios selected by the runner's tag filter are scheduled longest-processing-time
+ * first: sorted by their estimate from {@link ScenarioTimings}, each goes to the worker with
+ * the least estimated work so far, which keeps the slowest worker close to the optimum.
+ * Every worker computes the same plan from the same history and feature files, so the
+ * history file has to be shared between them, e.g. as a CI cache.
+ * Registered through META-INF/services, the runner needs no changes.
+ *
+ * Configuration:
+ * -Dshard.count           number of workers (default: 1, no sharding)
+ * -Dshard.index           worker to run, 0-based (default: 0)
+ * -Dshard.reports         directory with the cucumber.json reports of all workers, added to the history first
+ * -Dshard.defaultSeconds  estimate for scenarios without history, see {@link ScenarioTimings#defaultEstimateMs()}
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+    private static final Path PLAN = Paths.get("target", "cucumber-report", "shard-plan.json");
+
+    // Computed once per JVM from the complete tree, the suite engine may filter twice
+    private static Set<String> shard;
+
+    private final int count = Integer.getInteger("shard.count", 1);
+    private final int index = Integer.getInteger("shard.index", 0);
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (count <= 1 || !isScenario(descriptor)) {
+            return FilterResult.included(null);
+        }
+        Set<String> keys = shardFor(descriptor);
+        return keys.contains(key(descriptor).orElse(""))
+                ? FilterResult.included("in shard " + index + " of " + count)
+                : FilterResult.excluded("in another shard than " + index + " of " + count);
+    }
+
+    private synchronized Set<String> shardFor(TestDescriptor descriptor) {
+        if (shard == null) {
+            if (index < 0 || index >= count) {
+                throw new IllegalArgumentException("shard.index must be between 0 and " + (count - 1) + ", got " + index);
+            }
+            TestDescriptor root = descriptor;
+            while (root.getParent().isPresent()) {
+                root = root.getParent().get();
+            }
+            Expression tags = tagExpression();
+            Map<String, String> scenarios = new LinkedHashMap<>();
+            for (TestDescriptor candidate : root.getDescendants()) {
+                if (isScenario(candidate) && tags.evaluate(candidate.getTags().stream()
+                        .map(tag -> "@" + tag.getName()).collect(Collectors.toList()))) {
+                    key(candidate).ifPresent(key -> scenarios.put(key, candidate.getDisplayName()));
+                }
+            }
+            shard = plan(scenarios);
+        }
+        return shard;
+    }
+
+    /**
+     * Partitions the scenarios with the longest-processing-time-first rule and writes the plan
+     * @param scenarios Names of the scenarios to run by key
+     * @return The keys of this worker's scenarios
+     */
+    private Set<String> plan(Map<String, String> scenarios) {
+        ScenarioTimings.update(timings -> {
+            for (Path report : reports()) {
+                try {
+                    timings.ingest(report);
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Error reading cucumber report " + report + ": " + e.getMessage());
+                }
+            }
+        });
+        ScenarioTimings timings = ScenarioTimings.load();
+        long defaultMs = timings.defaultEstimateMs();
+
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        int estimated = 0;
+        for (Map.Entry<String, String> scenario : scenarios.entrySet()) {
+            OptionalLong estimate = timings.estimateMs(scenario.getKey(), scenario.getValue());
+            estimated += estimate.isPresent() ? 1 : 0;
+            estimates.put(scenario.getKey(), estimate.orElse(defaultMs));
+        }
+        List<String> order = new ArrayList<>(estimates.keySet());
+        order.sort(Comparator.<String>comparingLong(estimates::get).reversed().thenComparing(Comparator.naturalOrder()));
+
+        List<List<String>> workers = new ArrayList<>();
+        long[] loads = new long[count];
+        PriorityQueue<Integer> leastLoaded = new PriorityQueue<>(
+                Comparator.<Integer>comparingLong(worker -> loads[worker]).thenComparingInt(worker -> worker));
+        for (int worker = 0; worker < count; worker++) {
+            workers.add(new ArrayList<>());
+            leastLoaded.add(worker);
+        }
+        for (String key : order) {
+            int worker = leastLoaded.poll();
+            workers.get(worker).add(key);
+            loads[worker] += estimates.get(key);
+            leastLoaded.add(worker);
+        }
+
+        long total = estimates.values().stream().mapToLong(Long::longValue).sum();
+        long longest = estimates.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        long makespan = Arrays.stream(loads).max().orElse(0);
+        System.out.printf("Shard %d of %d: %d of %d scenarios, estimated %d s (makespan %d s, lower bound %d s, %d scenarios without history)%n",
+                index, count, workers.get(index).size(), scenarios.size(), loads[index] / 1000, makespan / 1000,
+                Math.max(total / count, longest) / 1000, scenarios.size() - estimated);
+        writePlan(workers, loads, estimates);
+        return Set.copyOf(workers.get(index));
+    }
+
+    private void writePlan(List<List<String>> workers, long[] loads, Map<String, Long> estimates) {
+        List<Map<String, Object>> shards = new ArrayList<>();
+        for (int worker = 0; worker < workers.size(); worker++) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("index", worker);
+            entry.put("estimatedMs", loads[worker]);
+            Map<String, Long> scenarios = new LinkedHashMap<>();
+            workers.get(worker).forEach(key -> scenarios.put(key, estimates.get(key)));
+            entry.put("scenarios", scenarios);
+            shards.add(entry);
+        }
+        try {
+            Files.createDirectories(PLAN.getParent());
+            Files.writeString(PLAN, new Json().toJson(Map.of("count", count, "index", index, "shards", shards)));
+        } catch (IOException e) {
+            System.err.println("Error writing shard plan: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The report of the previous run if it is still there, and the reports of -Dshard.reports
+     */
+    private static List<Path> reports() {
+        List<Path> reports = new ArrayList<>();
+        if (Files.isRegularFile(ScenarioTimings.REPORT)) {
+            reports.add(ScenarioTimings.REPORT);
+        }
+        String directory = System.getProperty("shard.reports");
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(Paths.get(directory))) {
+                files.filter(file -> file.toString().endsWith(".json") && Files.isRegularFile(file)).forEach(reports::add);
+            } catch (IOException e) {
+                System.err.println("Error listing cucumber reports in " + directory + ": " + e.getMessage());
+            }
+        }
+        return reports;
+    }
+
+    /**
+     * The tag filter of the run: -Dcucumber.filter.tags, else the one configured on {@link TestRunner}
+     */
+    private static Expression tagExpression() {
+        String expression = System.getProperty(FILTER_TAGS_PROPERTY_NAME);
+        if (expression == null) {
+            for (ConfigurationParameter parameter : TestRunner.class.getAnnotationsByType(ConfigurationParameter.class)) {
+                if (parameter.key().equals(FILTER_TAGS_PROPERTY_NAME)) {
+                    expression = parameter.value();
+                }
+            }
+        }
+        return TagExpressionParser.parse(expression == null ? "" : expression);
+    }
+
+    private static boolean isScenario(TestDescriptor descriptor) {
+        return descriptor.isTest() && descriptor.getUniqueId().getSegments().stream()
+                .anyMatch(segment -> segment.getType().equals("engine") && segment.getValue().equals("cucumber"));
+    }
+
+    /**
+     * Same key as {@link ScenarioTimings}: the feature path and the line of the scenario or example row
+     */
+    private static Optional<String> key(TestDescriptor descriptor) {
+        TestSource source = descriptor.getSource().orElse(null);
+        if (source instanceof ClasspathResourceSource) {
+            ClasspathResourceSource resource = (ClasspathResourceSource) source;
+            return resource.getPosition().map(position -> resource.getClasspathResourceName() + ":" + position.getLine());
+        }
+        if (source instanceof FileSource) {
+            FileSource file = (FileSource) source;
+            Path path = Paths.get("").toAbsolutePath().relativize(file.getFile().toPath().toAbsolutePath());
+            return file.getPosition().map(FilePosition::getLine).map(line -> path.toString().replace('\\', '/') + ":" + line);
+        }
+        return Optional.empty();
+    }
+}
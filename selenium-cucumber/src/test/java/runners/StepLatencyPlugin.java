@@ -0,0 +1,112 @@
+package runners;
+
+import com.orangehrm.commons.LatencyHistogram;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import org.openqa.selenium.json.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cucumber plugin that records how long each step definition and hook takes.
+ * Durations are kept in one histogram per step pattern (not per step text, so
+ * "provides username {string}" is one entry whatever the username) and per hook.
+ * At the end of the run count, total, p50, p95, p99 and max are written as JSON,
+ * sorted by total time so the most expensive steps come first.
+ *
+ * Register it with "runners.StepLatencyPlugin:path/to/file.json".
+ */
+public class StepLatencyPlugin implements ConcurrentEventListener {
+    private final File output;
+    private final Map<String, Map<String, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+    private volatile Instant startedAt = Instant.now();
+
+    public StepLatencyPlugin(File output) {
+        this.output = output;
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, event -> startedAt = event.getInstant());
+        publisher.registerHandlerFor(TestStepFinished.class, this::record);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> write(event.getInstant()));
+    }
+
+    private void record(TestStepFinished event) {
+        Status status = event.getResult().getStatus();
+        // Skipped and undefined steps never ran, they would only drag the percentiles down
+        if (status != Status.PASSED && status != Status.FAILED) {
+            return;
+        }
+        TestStep step = event.getTestStep();
+        String type;
+        String key;
+        if (step instanceof PickleStepTestStep) {
+            PickleStepTestStep pickleStep = (PickleStepTestStep) step;
+            type = "step";
+            key = pickleStep.getPattern() != null ? pickleStep.getPattern() : pickleStep.getStep().getText();
+        } else if (step instanceof HookTestStep) {
+            type = "hook";
+            key = ((HookTestStep) step).getHookType() + " " + step.getCodeLocation();
+        } else {
+            return;
+        }
+        histograms.computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> new LatencyHistogram())
+                .record(event.getResult().getDuration().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void write(Instant finishedAt) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        histograms.forEach((type, byKey) -> byKey.forEach((key, histogram) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("type", type);
+            entry.put("pattern", key);
+            entry.put("count", histogram.getCount());
+            entry.put("totalMs", millis(histogram.getTotalMicros()));
+            entry.put("p50Ms", millis(histogram.percentileMicros(50)));
+            entry.put("p95Ms", millis(histogram.percentileMicros(95)));
+            entry.put("p99Ms", millis(histogram.percentileMicros(99)));
+            entry.put("maxMs", millis(histogram.getMaxMicros()));
+            entries.add(entry);
+        }));
+        entries.sort(Comparator.comparing(entry -> -((Number) entry.get("totalMs")).doubleValue()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("finishedAt", finishedAt.toString());
+        report.put("entries", entries);
+
+        try {
+            File parent = output.getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                Files.createDirectories(parent.toPath());
+            }
+            Files.write(output.toPath(), new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("Error writing step latency report: " + e.getMessage());
+        }
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 100.0) / 10.0;
+    }
+}
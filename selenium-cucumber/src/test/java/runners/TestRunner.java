@@ -1,20 +1,25 @@
 package runners;
 
-import io.cucumber.junit.Cucumber;
-import io.cucumber.junit.CucumberOptions;
-import org.junit.runner.RunWith;
+import org.junit.platform.suite.api.ConfigurationParameter;
+import org.junit.platform.suite.api.IncludeEngines;
+import org.junit.platform.suite.api.SelectClasspathResource;
+import org.junit.platform.suite.api.Suite;
 
-@RunWith(Cucumber.class)
-@CucumberOptions(
-    features = "src/test/resources/features",
-    glue = "stepdefinitions",
-    plugin = {
-        "pretty",
-        "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm",
-        "json:target/cucumber-report/cucumber.json"
-    },
-    monochrome = true,
-    tags = "@user-management"
-)
+import static io.cucumber.junit.platform.engine.Constants.ANSI_COLORS_DISABLED_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.FILTER_TAGS_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.GLUE_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PROPERTY_NAME;
+
+// Parallel execution is configured in the surefire plugin, see cucumber.parallel in pom.xml
+@Suite
+@IncludeEngines("cucumber")
+@SelectClasspathResource("features")
+@ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = "stepdefinitions")
+@ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = "pretty,"
+        + "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm,"
+        + "json:target/cucumber-report/cucumber.json,"
+        + "runners.StepLatencyPlugin:target/cucumber-report/step-latency.json")
+@ConfigurationParameter(key = ANSI_COLORS_DISABLED_PROPERTY_NAME, value = "true")
+@ConfigurationParameter(key = FILTER_TAGS_PROPERTY_NAME, value = "@user-management")
 public class TestRunner {
 }
@@ -1,18 +1,14 @@
 package stepdefinitions;
 
 import io.cucumber.java.en.*;
-import io.qameta.allure.Allure;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
-import static org.junit.Assert.assertTrue;
-
-import java.io.ByteArrayInputStream;
+import utils.Attachments;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class AdminSteps {
     private TestContext context;
     
-    public AdminSteps() {
-        context = TestContext.getInstance();
+    public AdminSteps(TestContext context) {
+        this.context = context;
     }
     
     @When("the administrator navigates to User Management")
@@ -20,26 +16,23 @@ public class AdminSteps {
         context.menuPage.clickAdminMenuItem();
         
         // Verify we're on the Admin page
-        assertTrue("Failed to navigate to Admin page", context.adminPage.isOnAdminPage());
+        assertTrue(context.adminPage.isOnAdminPage(), "Failed to navigate to Admin page");
     }
     
     @Then("the system should display total number of users")
     public void systemDisplaysTotalUsers() {
         // Store the initial record count for later verification
         context.initialRecordCount = context.adminPage.getRecordsCountAsInt();
-        Allure.addAttachment("Initial Record Count", "Count: " + context.initialRecordCount);
+        Attachments.text("Initial Record Count", "Count: " + context.initialRecordCount);
         
         // Take a screenshot of the admin page
-        if (context.driver instanceof TakesScreenshot) {
-            byte[] screenshot = ((TakesScreenshot) context.driver).getScreenshotAs(OutputType.BYTES);
-            Allure.addAttachment("Admin Page", "image/png", new ByteArrayInputStream(screenshot), "png");
-        }
+        Attachments.screenshot("Admin Page", context.driver);
         
         // Verify we can see the records count
         String recordsText = context.adminPage.getRecordsCount();
-        Allure.addAttachment("Records Text", recordsText);
+        Attachments.text("Records Text", recordsText);
         
-        assertTrue("Records count should be visible", recordsText != null && !recordsText.isEmpty());
+        assertTrue(recordsText != null && !recordsText.isEmpty(), "Records count should be visible");
     }
     
     @When("the administrator initiates new user creation")
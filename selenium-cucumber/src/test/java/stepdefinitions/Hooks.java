@@ -1,14 +1,28 @@
 package stepdefinitions;
 
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeAll;
 import io.cucumber.java.Scenario;
+import config.WebDriverPool;
+import utils.Attachments;
+import utils.EmployeeIndex;
+import utils.EmployeePool;
+import utils.UserRegistry;
 
 public class Hooks {
     private TestContext context;
     
-    public Hooks() {
-        context = TestContext.getInstance();
+    public Hooks(TestContext context) {
+        this.context = context;
+    }
+    
+    @BeforeAll
+    public static void prefetchEmployeeData() {
+        // Fetch the employee directory while the first browsers start
+        EmployeeIndex.prefetch();
+        EmployeePool.prefetch();
     }
     
     @Before
@@ -20,4 +34,28 @@ public class Hooks {
     public void tearDown(Scenario scenario) {
         context.tearDown(scenario);
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Tears the suite down in one hook, since Cucumber does not order separate hooks without an order value:
+     * browsers first, then the users the scenarios created, then the employee pool, whose deletes would
+     * take those users with them, and the attachments last, once nothing writes any more
+     */
+    @AfterAll
+    public static void tearDownSuite() {
+        try {
+            WebDriverPool.getInstance().shutdown();
+        } finally {
+            try {
+                // Deletes the users the scenarios created, including those of earlier runs that crashed
+                UserRegistry.reap();
+            } finally {
+                try {
+                    EmployeePool.shutdown();
+                } finally {
+                    // Attachments are written in the background, make sure they are on disk before the report is built
+                    Attachments.flush();
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -1,38 +1,63 @@
 package stepdefinitions;
 
 import io.cucumber.java.en.*;
-import io.qameta.allure.Allure;
-import static org.junit.Assert.assertTrue;
+import utils.Attachments;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class LoginSteps {
     private TestContext context;
     
-    public LoginSteps() {
-        context = TestContext.getInstance();
+    public LoginSteps(TestContext context) {
+        this.context = context;
     }
 
     @Given("the administrator is on the login page {string}")
     public void administratorIsOnLoginPage(String url) {
+        context.loginUrl = url;
+        // Opened with the scenario's credentials once they are submitted
+        if (context.fastLogin) {
+            return;
+        }
         context.loginPage.navigateTo(url);
     }
 
     @When("the administrator provides username {string}")
     public void administratorProvidesUsername(String username) {
+        context.loginUsername = username;
+        if (context.fastLogin) {
+            return;
+        }
         context.loginPage.enterUsername(username);
     }
 
     @When("the administrator provides password {string}")
     public void administratorProvidesPassword(String password) {
+        context.loginPassword = password;
+        if (context.fastLogin) {
+            return;
+        }
         context.loginPage.enterPassword(password);
     }
 
     @When("the administrator submits login credentials")
     public void administratorSubmitsLoginCredentials() {
+        if (context.fastLogin) {
+            try {
+                if (context.loginPage.openWithSession(context.loginUrl, context.loginUsername, context.loginPassword)) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                Attachments.text("Fast Login Fallback", "Logging in through the form: " + e.getMessage());
+            }
+            context.loginPage.navigateTo(context.loginUrl);
+            context.loginPage.enterUsername(context.loginUsername);
+            context.loginPage.enterPassword(context.loginPassword);
+        }
         context.loginPage.clickLoginButton();
     }
 
     @Then("the administrator should have access to the system")
     public void administratorShouldHaveSystemAccess() {
-        assertTrue("Administrator access verification failed", context.loginPage.isLoggedInSuccessfully());
+        assertTrue(context.loginPage.isLoggedInSuccessfully(), "Administrator access verification failed");
     }
 } 
\ No newline at end of file
@@ -3,8 +3,6 @@ package stepdefinitions;
 import io.cucumber.java.Scenario;
 import io.qameta.allure.Allure;
 import org.openqa.selenium.By;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import pages.LoginPage;
@@ -12,17 +10,22 @@ import pages.MenuPage;
 import pages.AdminPage;
 import pages.AddUserPage;
 import config.WebDriverConfig;
+import config.WebDriverPool;
+import utils.Attachments;
+import utils.EmployeePool;
+import utils.ResourceBlocker;
+import utils.SessionLogin;
 
-import java.io.ByteArrayInputStream;
 import java.util.List;
 
 /**
  * Shared context between step definition classes.
  * This is NOT a test class and should not be treated as such by the test runner.
  * It is a utility class for sharing state between step definition classes.
+ * Cucumber's PicoContainer creates one instance per scenario and injects it into
+ * the hooks and step classes, so parallel scenarios never share state.
  */
 public class TestContext {
-    private static TestContext instance;
     
     public WebDriver driver;
     public LoginPage loginPage;
@@ -32,42 +35,46 @@ public class TestContext {
     public String currentScenarioName;
     public String currentUsername;
     public String selectedEmployeeName;
+    // Employee leased from the pool for this scenario, returned in tearDown
+    public EmployeePool.Employee leasedEmployee;
     public int initialRecordCount;
-    
-    private TestContext() {
-        // Private constructor to enforce singleton pattern
-    }
-    
-    public static synchronized TestContext getInstance() {
-        if (instance == null) {
-            instance = new TestContext();
-        }
-        return instance;
-    }
+    // Scenarios not tagged @login skip the login form, see SessionLogin
+    public boolean fastLogin;
+    // Collected by the login steps, used once the credentials are submitted
+    public String loginUrl;
+    public String loginUsername;
+    public String loginPassword;
     
     public void setUp(Scenario scenario) {
         Allure.epic("System Administration");
         Allure.feature(scenario.getName());
-        driver = WebDriverConfig.setupDriver();
+        // Lease a warm browser instead of launching a new one per scenario
+        driver = WebDriverPool.getInstance().acquire();
         loginPage = new LoginPage(driver);
         menuPage = new MenuPage(driver);
         adminPage = new AdminPage(driver);
         addUserPage = new AddUserPage(driver);
         currentScenarioName = scenario.getName();
+        fastLogin = SessionLogin.isEnabled() && !scenario.getSourceTagNames().contains("@login");
     }
     
     public void tearDown(Scenario scenario) {
         try {
             if (scenario.isFailed() && driver != null) {
-                byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-                Allure.addAttachment("System State at Failure", "image/png", new ByteArrayInputStream(screenshot), "png");
+                Attachments.screenshot("System State at Failure", driver);
             }
         } finally {
+            if (leasedEmployee != null) {
+                EmployeePool.getInstance().release(leasedEmployee);
+                leasedEmployee = null;
+            }
             if (driver != null) {
-                driver.quit();
+                ResourceBlocker.takeSummary(driver).ifPresent(summary -> Attachments.text("Blocked Resources", summary));
+                WebDriverConfig.gridUsage().ifPresent(usage -> Attachments.text("Grid Node Usage", usage));
+                // Cookies and storage are cleared before the browser is handed to the next scenario
+                WebDriverPool.getInstance().release(driver);
+                driver = null;
             }
-            // Reset the instance for the next test run
-            instance = null;
         }
     }
     
@@ -88,19 +95,15 @@ public class TestContext {
                     errors.append("- ").append(error.getText()).append("\n");
                 }
                 
-                Allure.addAttachment("Error Messages at " + stage, errors.toString());
+                Attachments.text("Error Messages at " + stage, errors.toString());
                 
                 // Take a screenshot showing the errors
-                if (driver instanceof TakesScreenshot) {
-                    byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-                    Allure.addAttachment("Errors Screenshot at " + stage, "image/png", 
-                                        new ByteArrayInputStream(screenshot), "png");
-                }
+                Attachments.screenshot("Errors Screenshot at " + stage, driver);
             } else {
-                Allure.addAttachment("Error Check at " + stage, "No error messages found");
+                Attachments.text("Error Check at " + stage, "No error messages found");
             }
         } catch (Exception e) {
-            Allure.addAttachment("Error Check Exception at " + stage, "Error: " + e.getMessage());
+            Attachments.text("Error Check Exception at " + stage, "Error: " + e.getMessage());
         }
     }
 } 
\ No newline at end of file
@@ -2,30 +2,32 @@ package stepdefinitions;
 
 import io.cucumber.java.en.*;
 import io.cucumber.datatable.DataTable;
-import io.qameta.allure.Allure;
 import org.openqa.selenium.By;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebElement;
+import utils.ApiHelper;
+import utils.Attachments;
+import utils.EmployeePool;
+import utils.NetworkMonitor;
+import utils.UserRegistry;
 import utils.TestDataGenerator;
-import static org.junit.Assert.assertTrue;
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.fail;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
 
-import java.io.ByteArrayInputStream;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
 public class UserCreationSteps {
     private TestContext context;
     
-    public UserCreationSteps() {
-        context = TestContext.getInstance();
+    public UserCreationSteps(TestContext context) {
+        this.context = context;
     }
 
     @Then("the Add User form should be displayed")
     public void theAddUserFormShouldBeDisplayed() {
-        assertTrue("Add User form should be visible", context.addUserPage.isOnAddUserPage());
+        assertTrue(context.addUserPage.isOnAddUserPage(), "Add User form should be visible");
     }
 
     @When("the administrator provides the following user details:")
@@ -39,12 +41,13 @@ public class UserCreationSteps {
         checkAndFailOnEmployeeSelectionError();
         
         context.addUserPage.selectStatus(userDetails.get("Status"));
-        context.addUserPage.enterUsername(userDetails.get("Username"));
+        context.currentUsername = userDetails.get("Username");
+        context.addUserPage.enterUsername(context.currentUsername);
         context.addUserPage.enterPassword(userDetails.get("Password"));
         context.addUserPage.enterConfirmPassword(userDetails.get("Password"));
         
         // Log the employee name that was actually selected
-        Allure.addAttachment("Employee Selection", 
+        Attachments.text("Employee Selection", 
             "Requested Employee: " + userDetails.get("Employee Name") + "\n" +
             "Selected Employee: " + context.selectedEmployeeName);
     }
@@ -52,10 +55,7 @@ public class UserCreationSteps {
     @When("the administrator saves the new user details")
     public void theAdministratorSavesTheNewUserDetails() {
         // Take a screenshot before saving
-        if (context.driver instanceof TakesScreenshot) {
-            byte[] screenshot = ((TakesScreenshot) context.driver).getScreenshotAs(OutputType.BYTES);
-            Allure.addAttachment("Before Save", "image/png", new ByteArrayInputStream(screenshot), "png");
-        }
+        Attachments.screenshot("Before Save", context.driver);
         
         // Check for any error messages before saving
         context.checkForErrorMessages("Before Save");
@@ -67,8 +67,7 @@ public class UserCreationSteps {
     @Then("the system should confirm the user creation")
     public void theSystemShouldConfirmTheUserCreation() {
         // Take a screenshot of the current state
-        byte[] screenshot = ((TakesScreenshot) context.driver).getScreenshotAs(OutputType.BYTES);
-        Allure.addAttachment("Final Page State", "image/png", new ByteArrayInputStream(screenshot), "png");
+        Attachments.screenshot("Final Page State", context.driver);
         
         // Check for success message or if we're back on the admin page
         boolean successMessageDisplayed = context.addUserPage.isSuccessMessageDisplayed();
@@ -76,13 +75,16 @@ public class UserCreationSteps {
         // Also check if we're on the admin page as an alternative success indicator
         boolean onAdminPage = context.adminPage.isOnAdminPage();
         
-        Allure.addAttachment("Success Verification", 
+        Attachments.text("Success Verification", 
             "Success message displayed: " + successMessageDisplayed + "\n" +
             "On admin page: " + onAdminPage);
         
         // Consider the test successful if either condition is met
-        assertTrue("User creation verification failed - neither success message displayed nor returned to admin page", 
-                  successMessageDisplayed || onAdminPage);
+        assertTrue(successMessageDisplayed || onAdminPage,
+                  "User creation verification failed - neither success message displayed nor returned to admin page");
+        
+        // Recorded only once the save is confirmed, so an account the form failed to create is never reaped
+        recordCreatedUser();
         
         // Check for any error messages after saving
         context.checkForErrorMessages("After Save");
@@ -90,28 +92,24 @@ public class UserCreationSteps {
         // If we're back on the admin page, verify the record count has increased
         if (onAdminPage) {
             try {
-                // Wait a moment for the page to fully load and update the count
-                try {
-                    Thread.sleep(1000); // Short wait for page to refresh
-                } catch (InterruptedException e) {
-                    // Ignore interruption
-                }
+                // Wait for the users list request to finish so the count is up to date
+                NetworkMonitor.forDriver(context.driver)
+                    .waitForIdle("/api/v2/admin/users", Duration.ofMillis(250), Duration.ofSeconds(10));
                 
                 int finalRecordCount = context.adminPage.getRecordsCountAsInt();
-                Allure.addAttachment("Final Record Count", 
+                Attachments.text("Final Record Count", 
                     "Initial count: " + context.initialRecordCount + "\n" +
                     "Final count: " + finalRecordCount);
                 
                 // Verify the count has increased by 1
                 if (finalRecordCount > context.initialRecordCount) {
-                    Allure.addAttachment("Record Count Verification", "SUCCESS: Record count increased from " + 
+                    Attachments.text("Record Count Verification", "SUCCESS: Record count increased from " + 
                                         context.initialRecordCount + " to " + finalRecordCount);
                 } else {
-                    Allure.addAttachment("Record Count Verification", "WARNING: Record count did not increase as expected. " +
+                    Attachments.text("Record Count Verification", "WARNING: Record count did not increase as expected. " +
                                         "Initial: " + context.initialRecordCount + ", Final: " + finalRecordCount);
                     // Take another screenshot to show the current state
-                    byte[] countScreenshot = ((TakesScreenshot) context.driver).getScreenshotAs(OutputType.BYTES);
-                    Allure.addAttachment("Record Count State", "image/png", new ByteArrayInputStream(countScreenshot), "png");
+                    Attachments.screenshot("Record Count State", context.driver);
                 }
                 
                 // Assert that the count has increased, but make it a soft assertion
@@ -120,7 +118,7 @@ public class UserCreationSteps {
                     System.out.println("WARNING: Record count did not increase as expected. This might be due to UI delay.");
                 }
             } catch (Exception e) {
-                Allure.addAttachment("Record Count Error", "Error verifying record count: " + e.getMessage());
+                Attachments.text("Record Count Error", "Error verifying record count: " + e.getMessage());
                 // Don't fail the test just because of record count verification issues
                 System.out.println("Error verifying record count: " + e.getMessage());
             }
@@ -128,7 +126,7 @@ public class UserCreationSteps {
         
         // Log the successful user creation
         if (successMessageDisplayed || onAdminPage) {
-            Allure.addAttachment("User Creation Result", 
+            Attachments.text("User Creation Result", 
                 "User " + context.currentUsername + " created successfully\n" +
                 "Employee: " + context.selectedEmployeeName);
         }
@@ -136,8 +134,13 @@ public class UserCreationSteps {
 
     @When("the administrator creates a new user with role {string} and base name {string}")
     public void theAdministratorCreatesNewUser(String role, String baseName) {
-        // Generate dynamic test data
-        String employeeName = TestDataGenerator.generateEmployeeName(baseName);
+        // Use an employee of our own from the pool, or a generated name if the pool is empty
+        EmployeePool pool = EmployeePool.getInstance();
+        pool.takeFillSummary().ifPresent(summary -> Attachments.text("Employee Pool", summary));
+        context.leasedEmployee = pool.lease().orElse(null);
+        String employeeName = context.leasedEmployee != null
+            ? context.leasedEmployee.getFullName()
+            : TestDataGenerator.generateEmployeeName(baseName);
         context.currentUsername = TestDataGenerator.generateUniqueUsername(baseName);
         String password = TestDataGenerator.generateStrongPassword();
         
@@ -154,7 +157,7 @@ public class UserCreationSteps {
         context.addUserPage.enterConfirmPassword(password);
         
         // Log the test data for debugging
-        Allure.addAttachment("Test Data", 
+        Attachments.text("Test Data", 
             "Username: " + context.currentUsername + "\n" +
             "Password: " + password + "\n" +
             "Selected Employee: " + context.selectedEmployeeName);
@@ -165,10 +168,7 @@ public class UserCreationSteps {
      */
     private void checkAndFailOnEmployeeSelectionError() {
         // Take a screenshot of the current state
-        if (context.driver instanceof TakesScreenshot) {
-            byte[] screenshot = ((TakesScreenshot) context.driver).getScreenshotAs(OutputType.BYTES);
-            Allure.addAttachment("Employee Selection State", "image/png", new ByteArrayInputStream(screenshot), "png");
-        }
+        Attachments.screenshot("Employee Selection State", context.driver);
         
         // Look specifically for error messages related to employee selection
         List<WebElement> errorMessages = context.driver.findElements(By.cssSelector(".oxd-input-field-error-message"));
@@ -188,13 +188,29 @@ public class UserCreationSteps {
                 }
             }
             
-            Allure.addAttachment("Employee Selection Errors", errors.toString());
+            Attachments.text("Employee Selection Errors", errors.toString());
             
             // If we found an "Invalid" error, log it but don't fail the test
             if (hasInvalidError) {
-                Allure.addAttachment("WARNING", "Employee selection showed 'Invalid' error, but continuing with test.");
+                Attachments.text("WARNING", "Employee selection showed 'Invalid' error, but continuing with test.");
                 System.out.println("WARNING: Employee selection showed 'Invalid' error, but continuing with test.");
             }
         }
     }
-} 
\ No newline at end of file
+
+    private void recordCreatedUser() {
+        if (context.currentUsername == null) {
+            return;
+        }
+        try {
+            Integer id = ApiHelper.findUserIdAsync(context.currentUsername).join();
+            if (id != null) {
+                UserRegistry.record(id, context.currentUsername);
+            } else {
+                System.out.println("WARNING: Created user " + context.currentUsername + " not found, it will not be reaped");
+            }
+        } catch (RuntimeException e) {
+            System.out.println("WARNING: Could not record created user " + context.currentUsername + ": " + e.getMessage());
+        }
+    }
+}
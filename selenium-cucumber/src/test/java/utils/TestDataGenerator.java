@@ -1,22 +1,22 @@
 package utils;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import com.orangehrm.commons.UniqueIds;
 
+/**
+ * Test data for scenarios running in parallel. Usernames and employee names are
+ * unique across threads, forks and machines, see {@link UniqueIds}.
+ */
 public class TestDataGenerator {
     
     public static String generateUniqueUsername(String baseUsername) {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMddHHmmss"));
-        return baseUsername + timestamp;
+        return baseUsername + UniqueIds.next();
     }
     
     public static String generateEmployeeName(String baseName) {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMddHHmm"));
-        return baseName + " " + timestamp;
+        return baseName + " " + UniqueIds.next();
     }
     
     public static String generateStrongPassword() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("mmss"));
-        return "StrongPass" + timestamp + "123";
+        return "StrongPass" + UniqueIds.randomToken(4) + "123";
     }
 } 
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.orangehrm.commons;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free source of unique identifiers for test data.
+ * An identifier is a fixed-width node prefix followed by a sequence number in base 36.
+ * Threads reserve blocks of sequence numbers from a shared counter and count through
+ * them on their own, so the shared counter is touched once per block rather than once
+ * per identifier. The node prefix is derived from a seed, the process id and an optional
+ * node name, which keeps identifiers from parallel forks and machines apart.
+ * Shared by the REST and Selenium modules.
+ *
+ * Configuration:
+ * -Dtestdata.seed   seed for the node prefix and random values (default: random per run)
+ * -Dtestdata.node   name of this node or fork, replaces the process id in the prefix
+ */
+public final class UniqueIds {
+    private static final int BLOCK_SIZE = 1024;
+    private static final int NODE_LENGTH = 8;
+    
+    private static final long SEED = Long.getLong("testdata.seed", new SecureRandom().nextLong());
+    private static final String NODE = nodePrefix(SEED,
+            System.getProperty("testdata.node", String.valueOf(ProcessHandle.current().pid())));
+    
+    private static final AtomicLong NEXT_BLOCK = new AtomicLong();
+    private static final AtomicLong NEXT_STREAM = new AtomicLong();
+    private static final ThreadLocal<Sequence> SEQUENCE = ThreadLocal.withInitial(Sequence::new);
+    
+    /**
+     * Per-thread state: the current block of sequence numbers and a random stream
+     */
+    private static final class Sequence {
+        private final SplittableRandom random = new SplittableRandom(mix(SEED + NEXT_STREAM.getAndIncrement()));
+        private long next;
+        private long end;
+        
+        private long nextValue() {
+            if (next == end) {
+                next = NEXT_BLOCK.getAndIncrement() * BLOCK_SIZE;
+                end = next + BLOCK_SIZE;
+            }
+            return next++;
+        }
+    }
+    
+    private UniqueIds() {
+    }
+    
+    /**
+     * @return An identifier of lowercase letters and digits that no other thread, fork or node produces
+     */
+    public static String next() {
+        return NODE + Long.toString(SEQUENCE.get().nextValue(), 36);
+    }
+    
+    /**
+     * @param length The number of characters
+     * @return Random lowercase letters and digits from the current thread's stream
+     */
+    public static String randomToken(int length) {
+        SplittableRandom random = SEQUENCE.get().random;
+        char[] token = new char[length];
+        for (int i = 0; i < length; i++) {
+            token[i] = Character.forDigit(random.nextInt(36), 36);
+        }
+        return new String(token);
+    }
+    
+    /**
+     * @return The random stream of the current thread, not to be shared with other threads
+     */
+    public static SplittableRandom random() {
+        return SEQUENCE.get().random;
+    }
+    
+    /**
+     * @return The prefix of all identifiers of this process
+     */
+    public static String node() {
+        return NODE;
+    }
+    
+    static String nodePrefix(long seed, String node) {
+        long hash = mix(seed ^ mix(node.hashCode()));
+        // Fixed width keeps the boundary between prefix and sequence number unambiguous
+        String prefix = Long.toString(hash & Long.MAX_VALUE, 36);
+        while (prefix.length() < NODE_LENGTH) {
+            prefix = "0" + prefix;
+        }
+        return prefix.substring(prefix.length() - NODE_LENGTH);
+    }
+    
+    // SplitMix64 finalizer, spreads similar inputs such as consecutive process ids
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
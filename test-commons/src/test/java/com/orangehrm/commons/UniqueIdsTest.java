@@ -0,0 +1,74 @@
+package com.orangehrm.commons;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uniqueness of the identifiers across threads and of the node prefixes across processes
+ */
+public class UniqueIdsTest {
+    
+    @Test
+    public void testIdentifiersAreUniqueAcrossThreads() throws Exception {
+        // Several blocks per thread, so threads keep reserving blocks while the others count
+        int threads = 8;
+        int perThread = 20_000;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < perThread; j++) {
+                        Assert.assertTrue(ids.add(UniqueIds.next()), "Identifier produced twice");
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        Assert.assertEquals(ids.size(), threads * perThread);
+        for (String id : ids) {
+            Assert.assertTrue(id.startsWith(UniqueIds.node()), "Identifier " + id + " should start with the node prefix");
+            Assert.assertTrue(id.matches("[0-9a-z]+"), "Identifier " + id + " should be lowercase letters and digits");
+        }
+    }
+    
+    @Test
+    public void testNodePrefixesOfConsecutiveProcessesDoNotCollide() {
+        // Forks on one machine get neighbouring process ids and share the seed
+        long seed = 42;
+        Set<String> prefixes = new HashSet<>();
+        for (int pid = 1000; pid < 101_000; pid++) {
+            String prefix = UniqueIds.nodePrefix(seed, String.valueOf(pid));
+            Assert.assertEquals(prefix.length(), 8, "Prefix " + prefix + " should have a fixed width");
+            Assert.assertTrue(prefixes.add(prefix), "Prefix " + prefix + " of process " + pid + " collides");
+        }
+    }
+    
+    @Test
+    public void testNodePrefixDependsOnSeedAndNode() {
+        Assert.assertEquals(UniqueIds.nodePrefix(7, "worker-1"), UniqueIds.nodePrefix(7, "worker-1"));
+        Assert.assertNotEquals(UniqueIds.nodePrefix(7, "worker-1"), UniqueIds.nodePrefix(8, "worker-1"));
+        Assert.assertNotEquals(UniqueIds.nodePrefix(7, "worker-1"), UniqueIds.nodePrefix(7, "worker-2"));
+    }
+}